@@ -0,0 +1,67 @@
+package LAB1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Matrix generation and the edge / degree statistics from lab01 Homework.
+// Lives in LAB1 to reach the package-private Main.createAdjacencyMatrix.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class AdjacencyMatrixBenchmark {
+    static final long SEED = 20250301L;
+
+    @Param({"1000", "10000", "30000"})
+    int n;
+
+    @Param({"10"})
+    int k;
+
+    PackedAdjacencyMatrix matrix;
+    GraphStats stats;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stats = new GraphStats(n);
+        matrix = Main.createAdjacencyMatrix(new RandomGraphGenerator(SEED), n, k, stats);
+    }
+
+    @Benchmark
+    public PackedAdjacencyMatrix createAdjacencyMatrix() {
+        return Main.createAdjacencyMatrix(new RandomGraphGenerator(SEED), n, k, new GraphStats(n));
+    }
+
+    // Full recount from the stored words, what every report used to cost
+    @Benchmark
+    public GraphStats recomputeStats() {
+        GraphStats recomputed = matrix.computeStats();
+        recomputed.getMaxDegree();
+        return recomputed;
+    }
+
+    @Benchmark
+    public long countEdges() {
+        return matrix.countEdges();
+    }
+
+    // The ex4-ex6 reports on statistics gathered at generation time
+    @Benchmark
+    public long reportStats() {
+        return stats.getEdgeCount() + stats.getMaxDegree() + stats.getMinDegree() + stats.getDegreeSum();
+    }
+}
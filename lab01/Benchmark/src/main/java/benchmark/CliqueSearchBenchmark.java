@@ -0,0 +1,119 @@
+package benchmark;
+
+import main.BitsetCliqueFinder;
+import main.Main;
+import main.MaxCliqueFinder;
+import main.ParallelCliqueSearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Generation and clique / stable set search from lab01 Bonus.
+// Every state has its own parameters, so the backtracker is only run on sizes it can finish.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CliqueSearchBenchmark {
+    static final long SEED = 20250301L;
+
+    @State(Scope.Thread)
+    public static class Generation {
+        @Param({"100", "1000", "4000"})
+        int n;
+
+        @Param({"0.1", "0.5"})
+        double p;
+    }
+
+    @State(Scope.Thread)
+    public static class SmallGraph {
+        @Param({"40", "60"})
+        int n;
+
+        @Param({"0.5"})
+        double p;
+
+        @Param({"6", "8"})
+        int k;
+
+        boolean[][] graph;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            graph = Main.generateRandomGraph(n, p, SEED);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LargeGraph {
+        @Param({"100", "200", "300"})
+        int n;
+
+        @Param({"0.3", "0.5"})
+        double p;
+
+        @Param({"8", "12"})
+        int k;
+
+        BitsetCliqueFinder finder;
+        ParallelCliqueSearch parallel;
+        MaxCliqueFinder maximum;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            boolean[][] graph = Main.generateRandomGraph(n, p, SEED);
+            finder = new BitsetCliqueFinder(graph);
+            parallel = new ParallelCliqueSearch(graph);
+            maximum = new MaxCliqueFinder(graph);
+        }
+    }
+
+    @Benchmark
+    public boolean[][] generateRandomGraph(Generation state) {
+        return Main.generateRandomGraph(state.n, state.p, SEED);
+    }
+
+    @Benchmark
+    public boolean backtrackingHasClique(SmallGraph state) {
+        return Main.hasClique(state.graph, state.n, state.k);
+    }
+
+    @Benchmark
+    public boolean backtrackingHasStableSet(SmallGraph state) {
+        return Main.hasStableSet(state.graph, state.n, state.k);
+    }
+
+    @Benchmark
+    public boolean bitsetHasClique(LargeGraph state) {
+        return state.finder.hasClique(state.k);
+    }
+
+    @Benchmark
+    public boolean bitsetHasStableSet(LargeGraph state) {
+        return state.finder.hasStableSet(state.k);
+    }
+
+    @Benchmark
+    public boolean parallelHasClique(LargeGraph state) {
+        return state.parallel.hasClique(state.k);
+    }
+
+    @Benchmark
+    public MaxCliqueFinder.Result maximumClique(LargeGraph state) {
+        return state.maximum.maximumClique(Duration.ofMinutes(1));
+    }
+}
@@ -0,0 +1,224 @@
+package main;
+
+// Clique / stable set search over long[] bitset rows.
+// Bron-Kerbosch with Tomita pivoting, pruned with a greedy coloring upper bound.
+// Stable sets are searched on the complement rows, computed on the fly.
+public class BitsetCliqueFinder {
+    private final int n;
+    private final int words;
+    private final long[][] adjacency;
+
+    // Per-depth candidate buffers, reused so the search itself does not allocate
+    private long[][] candidatesAt;
+    private long[] coloringBuffer;
+    private long[] classBuffer;
+    private int[] clique;
+    private boolean complement;
+    private long nodes;
+
+    public BitsetCliqueFinder(boolean[][] graph) {
+        this(toBitsets(graph), graph.length);
+    }
+
+    // Rows must be symmetric and must not contain the vertex itself
+    public BitsetCliqueFinder(long[][] adjacency, int n) {
+        this.n = n;
+        this.words = wordsFor(n);
+        this.adjacency = adjacency;
+    }
+
+    public static int wordsFor(int n) {
+        return (n + 63) >>> 6;
+    }
+
+    public static long[][] toBitsets(boolean[][] graph) {
+        int n = graph.length;
+        int words = wordsFor(n);
+        long[][] rows = new long[n][words];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j && graph[i][j]) {
+                    rows[i][j >>> 6] |= 1L << j;
+                }
+            }
+        }
+        return rows;
+    }
+
+    public int getVertexCount() {
+        return n;
+    }
+
+    public long[][] getAdjacency() {
+        return adjacency;
+    }
+
+    // Number of search nodes expanded by the last query
+    public long getNodesExplored() {
+        return nodes;
+    }
+
+    public boolean hasClique(int k) {
+        return findClique(k) != null;
+    }
+
+    public boolean hasStableSet(int k) {
+        return findStableSet(k) != null;
+    }
+
+    // Returns the vertices of a clique of size k, or null if there is none
+    public int[] findClique(int k) {
+        return search(k, false);
+    }
+
+    // Returns the vertices of a stable set of size k, or null if there is none
+    public int[] findStableSet(int k) {
+        return search(k, true);
+    }
+
+    private int[] search(int k, boolean complement) {
+        this.complement = complement;
+        this.nodes = 0;
+        if (k <= 0) {
+            return new int[0];
+        }
+        if (k > n) {
+            return null;
+        }
+        candidatesAt = new long[k + 1][];
+        coloringBuffer = new long[words];
+        classBuffer = new long[words];
+        clique = new int[k];
+
+        long[] all = buffer(0);
+        fill(all, n);
+        return expand(0, k) ? clique.clone() : null;
+    }
+
+    private boolean expand(int size, int k) {
+        nodes++;
+        if (size == k) {
+            return true;
+        }
+        long[] candidates = candidatesAt[size];
+        if (size + colorBound(adjacency, words, complement, candidates, k - size, coloringBuffer, classBuffer) < k) {
+            return false;
+        }
+
+        // Only vertices outside the pivot's neighbourhood need to be branched on
+        int pivot = choosePivot(adjacency, words, complement, candidates);
+        long[] next = buffer(size + 1);
+        for (int w = 0; w < words; w++) {
+            long branch = branchWord(adjacency, complement, candidates, pivot, w);
+            while (branch != 0) {
+                int v = (w << 6) | Long.numberOfTrailingZeros(branch);
+                branch &= branch - 1;
+
+                neighbourhood(adjacency, words, complement, candidates, v, next);
+                clique[size] = v;
+                if (expand(size + 1, k)) {
+                    return true;
+                }
+                candidates[w] &= ~(1L << v);
+            }
+        }
+        return false;
+    }
+
+    // Vertex of the candidate set with the most neighbours inside the candidate set
+    static int choosePivot(long[][] adjacency, int words, boolean complement, long[] candidates) {
+        int best = -1;
+        int bestDegree = -1;
+        for (int w = 0; w < words; w++) {
+            long bits = candidates[w];
+            while (bits != 0) {
+                int u = (w << 6) | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int degree = 0;
+                long[] row = adjacency[u];
+                for (int x = 0; x < words; x++) {
+                    degree += Long.bitCount(complement ? candidates[x] & ~row[x] : candidates[x] & row[x]);
+                }
+                if (complement) {
+                    degree--;
+                }
+                if (degree > bestDegree) {
+                    bestDegree = degree;
+                    best = u;
+                }
+            }
+        }
+        return best;
+    }
+
+    // Word w of the candidates that are not neighbours of the pivot (the pivot included)
+    static long branchWord(long[][] adjacency, boolean complement, long[] candidates, int pivot, int w) {
+        long[] pivotRow = adjacency[pivot];
+        return complement
+                ? candidates[w] & (pivotRow[w] | (w == pivot >>> 6 ? 1L << pivot : 0L))
+                : candidates[w] & ~pivotRow[w];
+    }
+
+    // Greedy coloring of the candidates; the number of colors bounds the clique size.
+    // Stops early once the bound reaches the number of vertices still needed.
+    static int colorBound(long[][] adjacency, int words, boolean complement, long[] candidates, int needed,
+                          long[] uncolored, long[] colorClass) {
+        System.arraycopy(candidates, 0, uncolored, 0, words);
+        int colors = 0;
+        int first = 0;
+        while (colors < needed) {
+            while (first < words && uncolored[first] == 0) {
+                first++;
+            }
+            if (first == words) {
+                break;
+            }
+            colors++;
+            System.arraycopy(uncolored, 0, colorClass, 0, words);
+            for (int w = first; w < words; w++) {
+                while (colorClass[w] != 0) {
+                    int v = (w << 6) | Long.numberOfTrailingZeros(colorClass[w]);
+                    uncolored[w] &= ~(1L << v);
+                    // Vertices sharing a color must be pairwise non-adjacent in the searched graph
+                    long[] row = adjacency[v];
+                    for (int x = w; x < words; x++) {
+                        colorClass[x] &= complement ? row[x] : ~row[x];
+                    }
+                    colorClass[w] &= ~(1L << v);
+                }
+            }
+        }
+        return colors;
+    }
+
+    static void neighbourhood(long[][] adjacency, int words, boolean complement, long[] candidates, int v, long[] out) {
+        long[] row = adjacency[v];
+        if (complement) {
+            for (int w = 0; w < words; w++) {
+                out[w] = candidates[w] & ~row[w];
+            }
+            out[v >>> 6] &= ~(1L << v);
+        } else {
+            for (int w = 0; w < words; w++) {
+                out[w] = candidates[w] & row[w];
+            }
+        }
+    }
+
+    private long[] buffer(int depth) {
+        if (candidatesAt[depth] == null) {
+            candidatesAt[depth] = new long[words];
+        }
+        return candidatesAt[depth];
+    }
+
+    static void fill(long[] set, int n) {
+        int full = n >>> 6;
+        for (int w = 0; w < full; w++) {
+            set[w] = -1L;
+        }
+        if ((n & 63) != 0) {
+            set[full] = (1L << n) - 1;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package main;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+// Compares the bitset engine against the backtracking search from Main
+public class CliqueBenchmark {
+    // Past this size the backtracker takes far too long on negative instances
+    private static final int BACKTRACKER_LIMIT = 60;
+    private static final int WARMUP_ROUNDS = 3;
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42L;
+        int[] sizes = {30, 45, 60, 100, 200, 300};
+        double p = 0.5;
+
+        warmUp(seed);
+        System.out.printf("%6s %4s %8s %14s %14s %12s%n", "n", "k", "answer", "backtrack ms", "bitset ms", "nodes");
+        for (int n : sizes) {
+            boolean[][] graph = generateRandomGraph(n, p, seed);
+            BitsetCliqueFinder finder = new BitsetCliqueFinder(graph);
+
+            // Query around the clique number, so both a positive and a negative answer are timed
+            int cliqueNumber = 1;
+            while (finder.hasClique(cliqueNumber + 1)) {
+                cliqueNumber++;
+            }
+            for (int k = cliqueNumber; k <= cliqueNumber + 1; k++) {
+                long start = System.nanoTime();
+                boolean answer = finder.hasClique(k);
+                double bitsetMs = (System.nanoTime() - start) / 1_000_000.0;
+                long nodes = finder.getNodesExplored();
+
+                String backtrack = "-";
+                if (n <= BACKTRACKER_LIMIT) {
+                    start = System.nanoTime();
+                    boolean expected = Main.hasClique(graph, n, k);
+                    backtrack = String.format("%.2f", (System.nanoTime() - start) / 1_000_000.0);
+                    if (expected != answer) {
+                        throw new IllegalStateException("Engines disagree for n=" + n + ", k=" + k);
+                    }
+                }
+                System.out.printf("%6d %4d %8s %14s %14.2f %12d%n", n, k, answer, backtrack, bitsetMs, nodes);
+            }
+
+            long start = System.nanoTime();
+            boolean stable = finder.hasStableSet(cliqueNumber);
+            double stableMs = (System.nanoTime() - start) / 1_000_000.0;
+            System.out.printf("       stable set of size %d: %s (%.2f ms)%n", cliqueNumber, stable, stableMs);
+        }
+
+        benchmarkParallel(seed);
+        benchmarkMaximumClique(seed);
+        benchmarkSparse(seed);
+    }
+
+    // Million-vertex G(n, p) with about 10^7 edges, only searchable through the degeneracy order
+    private static void benchmarkSparse(long seed) {
+        int n = 1_000_000;
+        double p = 20.0 / n;
+        long start = System.nanoTime();
+        SparseGraph graph = new RandomGraphGenerator(seed).generateSparse(n, p);
+        double generateMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        start = System.nanoTime();
+        DegeneracyCliqueFinder finder = new DegeneracyCliqueFinder(graph);
+        double orderMs = (System.nanoTime() - start) / 1_000_000.0;
+        System.out.printf("%nSparse graph: n=%d, m=%d, degeneracy %d (generated in %.0f ms, ordered in %.0f ms)%n",
+                n, graph.getEdgeCount(), finder.getDegeneracy(), generateMs, orderMs);
+
+        for (int k = 3; k <= 5; k++) {
+            start = System.nanoTime();
+            boolean answer = finder.hasClique(k);
+            System.out.printf("  %d-clique: %s (%.0f ms)%n", k, answer, (System.nanoTime() - start) / 1_000_000.0);
+        }
+        MaxCliqueFinder.Result result = finder.maximumClique(Duration.ofSeconds(30));
+        System.out.printf("  maximum clique: %d, proven %s (%.0f ms)%n",
+                result.size(), result.proven(), result.elapsed().toNanos() / 1_000_000.0);
+    }
+
+    // One branch and bound run against the old way of growing k until hasClique fails
+    private static void benchmarkMaximumClique(long seed) {
+        System.out.printf("%n%6s %8s %18s %18s %8s%n", "n", "omega", "repeated k ms", "max clique ms", "proven");
+        for (int n : new int[]{100, 200, 300, 500}) {
+            boolean[][] graph = generateRandomGraph(n, 0.5, seed);
+
+            long start = System.nanoTime();
+            BitsetCliqueFinder finder = new BitsetCliqueFinder(graph);
+            int k = 1;
+            while (finder.hasClique(k + 1)) {
+                k++;
+            }
+            double repeatedMs = (System.nanoTime() - start) / 1_000_000.0;
+
+            MaxCliqueFinder.Result result = Main.maximumClique(graph, Duration.ofSeconds(10));
+            System.out.printf("%6d %8d %18.2f %18.2f %8s%n", n, result.size(), repeatedMs,
+                    result.elapsed().toNanos() / 1_000_000.0, result.proven());
+            if (result.proven() && result.size() != k) {
+                throw new IllegalStateException("Maximum clique disagrees with repeated search for n=" + n);
+            }
+        }
+
+        MaxCliqueFinder.Result partial = Main.maximumClique(generateRandomGraph(1000, 0.9, seed), Duration.ofMillis(200));
+        System.out.printf("n=1000, p=0.9 with a 200 ms budget: clique of %d, proven %s%n", partial.size(), partial.proven());
+    }
+
+    // The negative case explores the whole tree, so that is where the workers pay off
+    private static void benchmarkParallel(long seed) {
+        int n = 300;
+        boolean[][] graph = generateRandomGraph(n, 0.5, seed);
+        BitsetCliqueFinder sequential = new BitsetCliqueFinder(graph);
+        int k = 2;
+        while (sequential.hasClique(k)) {
+            k++;
+        }
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        ParallelCliqueSearch parallel = new ParallelCliqueSearch(sequential.getAdjacency(), n, pool);
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            parallel.hasClique(k);
+            sequential.hasClique(k);
+        }
+
+        long start = System.nanoTime();
+        sequential.hasClique(k);
+        double sequentialMs = (System.nanoTime() - start) / 1_000_000.0;
+        start = System.nanoTime();
+        boolean answer = parallel.hasClique(k);
+        double parallelMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        System.out.printf("%nParallel search, n=%d, k=%d (answer %s) on %d workers%n", n, k, answer, pool.getParallelism());
+        System.out.printf("Sequential: %.2f ms, parallel: %.2f ms, speedup %.2fx%n",
+                sequentialMs, parallelMs, sequentialMs / parallelMs);
+        for (Map.Entry<String, Long> entry : parallel.getNodesPerWorker().entrySet()) {
+            System.out.printf("  %-40s %12d nodes%n", entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static void warmUp(long seed) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            boolean[][] graph = generateRandomGraph(40, 0.5, seed + round);
+            BitsetCliqueFinder finder = new BitsetCliqueFinder(graph);
+            for (int k = 3; k <= 9; k++) {
+                finder.hasClique(k);
+                finder.hasStableSet(k);
+                Main.hasClique(graph, 40, k);
+            }
+        }
+    }
+
+    static boolean[][] generateRandomGraph(int n, double p, long seed) {
+        return Main.generateRandomGraph(n, p, seed);
+    }
+}
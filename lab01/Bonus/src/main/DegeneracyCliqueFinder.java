@@ -0,0 +1,240 @@
+package main;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+// Clique search for large sparse graphs.
+// Vertices are put in degeneracy order (repeatedly removing a minimum degree vertex, O(n + m)).
+// Every clique has a first vertex v in that order and lies inside v plus its later
+// neighbours, and there are at most d of those, d being the degeneracy. So the dense bitset
+// engines only ever run on subgraphs of at most d vertices, whatever n is.
+public class DegeneracyCliqueFinder {
+    private final SparseGraph graph;
+    private final int n;
+    private final int[] order;
+    private final int[] rank;
+    private final int degeneracy;
+    // Neighbours later in the order, in CSR form
+    private final int[] laterOffsets;
+    private final int[] laterTargets;
+
+    // Scratch for building the subgraph of one vertex
+    private final int[] localIndex;
+    private long localEdges;
+    private long nodes;
+
+    public DegeneracyCliqueFinder(SparseGraph graph) {
+        this.graph = graph;
+        this.n = graph.getVertexCount();
+        this.order = new int[n];
+        this.rank = new int[n];
+        this.degeneracy = computeOrder();
+        this.laterOffsets = new int[n + 1];
+        this.laterTargets = new int[(int) graph.getEdgeCount()];
+        buildLaterNeighbours();
+        this.localIndex = new int[n];
+        Arrays.fill(localIndex, -1);
+    }
+
+    public int getDegeneracy() {
+        return degeneracy;
+    }
+
+    // Vertices in degeneracy order
+    public int[] getOrder() {
+        return order.clone();
+    }
+
+    public long getNodesExplored() {
+        return nodes;
+    }
+
+    public boolean hasClique(int k) {
+        return findClique(k) != null;
+    }
+
+    // Returns the vertices of a clique of size k, or null if there is none
+    public int[] findClique(int k) {
+        nodes = 0;
+        if (k <= 0) {
+            return new int[0];
+        }
+        if (k > degeneracy + 1 || k > n) {
+            return null;
+        }
+        for (int v : order) {
+            if (laterDegree(v) < k - 1) {
+                continue;
+            }
+            int[] members = laterNeighbours(v);
+            long[][] rows = localAdjacency(members);
+            // A (k-1)-clique needs at least (k-1)(k-2)/2 edges among the later neighbours
+            if (localEdges < (long) (k - 1) * (k - 2) / 2) {
+                continue;
+            }
+            BitsetCliqueFinder finder = new BitsetCliqueFinder(rows, members.length);
+            int[] local = finder.findClique(k - 1);
+            nodes += finder.getNodesExplored();
+            if (local != null) {
+                return withFirst(v, members, local);
+            }
+        }
+        return null;
+    }
+
+    // Largest clique found within the budget, proven maximum if every vertex was searched
+    public MaxCliqueFinder.Result maximumClique(Duration budget) {
+        long start = System.nanoTime();
+        long budgetNanos = toNanos(budget);
+        nodes = 0;
+        int[] best = n == 0 ? new int[0] : new int[]{order[0]};
+        boolean proven = true;
+
+        // Later vertices tend to sit in the densest cores, so search from the end
+        for (int i = n - 1; i >= 0; i--) {
+            int v = order[i];
+            if (laterDegree(v) + 1 <= best.length) {
+                continue;
+            }
+            long remaining = budgetNanos - (System.nanoTime() - start);
+            if (remaining <= 0) {
+                proven = false;
+                break;
+            }
+            int[] members = laterNeighbours(v);
+            long[][] rows = localAdjacency(members);
+            // Beating the best clique needs a clique of best.length among the later neighbours
+            if (localEdges < (long) best.length * (best.length - 1) / 2) {
+                continue;
+            }
+            MaxCliqueFinder finder = new MaxCliqueFinder(rows, members.length);
+            MaxCliqueFinder.Result local = finder.maximumClique(Duration.ofNanos(remaining), best.length - 1);
+            nodes += local.nodes();
+            if (local.size() + 1 > best.length) {
+                best = withFirst(v, members, local.clique());
+            }
+            if (!local.proven()) {
+                proven = false;
+                break;
+            }
+        }
+        Arrays.sort(best);
+        return new MaxCliqueFinder.Result(best, proven, nodes, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    // Batagelj-Zaversnik bucket queue: vertices bucketed by current degree, O(n + m)
+    private int computeOrder() {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] degree = new int[n];
+        int maxDegree = 0;
+        for (int v = 0; v < n; v++) {
+            degree[v] = graph.degree(v);
+            maxDegree = Math.max(maxDegree, degree[v]);
+        }
+        int[] bucketStart = new int[maxDegree + 2];
+        for (int v = 0; v < n; v++) {
+            bucketStart[degree[v] + 1]++;
+        }
+        for (int d = 0; d <= maxDegree; d++) {
+            bucketStart[d + 1] += bucketStart[d];
+        }
+        int[] fill = Arrays.copyOf(bucketStart, maxDegree + 1);
+        for (int v = 0; v < n; v++) {
+            rank[v] = fill[degree[v]]++;
+            order[rank[v]] = v;
+        }
+
+        int result = 0;
+        for (int i = 0; i < n; i++) {
+            int v = order[i];
+            result = Math.max(result, degree[v]);
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int u = targets[e];
+                if (degree[u] > degree[v]) {
+                    // Move u to the front of its bucket, then shrink the bucket by one
+                    int du = degree[u];
+                    int front = bucketStart[du];
+                    int w = order[front];
+                    if (u != w) {
+                        order[rank[u]] = w;
+                        rank[w] = rank[u];
+                        order[front] = u;
+                        rank[u] = front;
+                    }
+                    bucketStart[du]++;
+                    degree[u]--;
+                }
+            }
+        }
+        return result;
+    }
+
+    private void buildLaterNeighbours() {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int position = 0;
+        for (int v = 0; v < n; v++) {
+            laterOffsets[v] = position;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (rank[targets[e]] > rank[v]) {
+                    laterTargets[position++] = targets[e];
+                }
+            }
+        }
+        laterOffsets[n] = position;
+    }
+
+    private int laterDegree(int v) {
+        return laterOffsets[v + 1] - laterOffsets[v];
+    }
+
+    private int[] laterNeighbours(int v) {
+        return Arrays.copyOfRange(laterTargets, laterOffsets[v], laterOffsets[v + 1]);
+    }
+
+    // Bitset rows of the subgraph induced by members; the edge count is left in localEdges.
+    // Each edge among them is listed exactly once, in the later-neighbour list of whichever
+    // endpoint comes first, so this is O(d^2).
+    private long[][] localAdjacency(int[] members) {
+        int size = members.length;
+        int words = BitsetCliqueFinder.wordsFor(size);
+        long[][] rows = new long[size][words];
+        for (int i = 0; i < size; i++) {
+            localIndex[members[i]] = i;
+        }
+        localEdges = 0;
+        for (int i = 0; i < size; i++) {
+            int u = members[i];
+            for (int e = laterOffsets[u]; e < laterOffsets[u + 1]; e++) {
+                int j = localIndex[laterTargets[e]];
+                if (j >= 0) {
+                    rows[i][j >>> 6] |= 1L << j;
+                    rows[j][i >>> 6] |= 1L << i;
+                    localEdges++;
+                }
+            }
+        }
+        for (int member : members) {
+            localIndex[member] = -1;
+        }
+        return rows;
+    }
+
+    private static int[] withFirst(int v, int[] members, int[] local) {
+        int[] clique = new int[local.length + 1];
+        clique[0] = v;
+        for (int i = 0; i < local.length; i++) {
+            clique[i + 1] = members[local[i]];
+        }
+        return clique;
+    }
+
+    private static long toNanos(Duration budget) {
+        try {
+            return budget.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
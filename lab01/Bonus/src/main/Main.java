@@ -1,8 +1,8 @@
 package main;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 public class Main {
     public static void main(String[] args) {
@@ -19,14 +19,12 @@ public class Main {
 
     // Generate a random graph with n vertices and edge probability p
     public static boolean[][] generateRandomGraph(int n, double p) {
-        Random random = new Random();
-        boolean[][] graph = new boolean[n][n];
-        for (int i = 0; i < n; i++) {
-            for (int j = i + 1; j < n; j++) {
-                graph[i][j] = graph[j][i] = random.nextDouble() < p;
-            }
-        }
-        return graph;
+        return new RandomGraphGenerator().generateMatrix(n, p);
+    }
+
+    // Same as above, reproducible for a given seed
+    public static boolean[][] generateRandomGraph(int n, double p, long seed) {
+        return new RandomGraphGenerator(seed).generateMatrix(n, p);
     }
 
     public static boolean hasClique(boolean[][] graph, int n, int k) {
@@ -34,6 +32,25 @@ public class Main {
         return findClique(graph, n, k, 0, currentClique);
     }
 
+    // Same question as hasClique, with the search tree split across the common ForkJoinPool
+    public static boolean hasCliqueParallel(boolean[][] graph, int n, int k) {
+        return new ParallelCliqueSearch(graph).hasClique(k);
+    }
+
+    // Largest clique found within the budget; the result says whether it is proven maximum
+    public static MaxCliqueFinder.Result maximumClique(boolean[][] graph, Duration budget) {
+        return new MaxCliqueFinder(graph).maximumClique(budget);
+    }
+
+    // Clique queries on large sparse graphs, bounded by the degeneracy instead of n
+    public static boolean hasClique(SparseGraph graph, int k) {
+        return new DegeneracyCliqueFinder(graph).hasClique(k);
+    }
+
+    public static MaxCliqueFinder.Result maximumClique(SparseGraph graph, Duration budget) {
+        return new DegeneracyCliqueFinder(graph).maximumClique(budget);
+    }
+
     // Backtracking function to find clique
     public static boolean findClique(boolean[][] graph, int n, int k, int start, List<Integer> currentClique) {
         if (currentClique.size() == k) {
@@ -0,0 +1,242 @@
+package main;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+// Branch and bound maximum clique search (MCQ / BBMC style) over bitset rows.
+// At every node the candidates are greedily colored and branched on in decreasing color
+// order, so a branch is cut as soon as its color count cannot beat the best clique so far.
+// The best clique is kept at all times: when the time budget runs out the search returns it
+// and reports that it was not proven maximum.
+public class MaxCliqueFinder {
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+    public record Result(int[] clique, boolean proven, long nodes, Duration elapsed) {
+        public int size() {
+            return clique.length;
+        }
+    }
+
+    private final int n;
+    private final int words;
+    // Vertices renumbered by non-increasing degree; originalVertex maps them back
+    private final long[][] adjacency;
+    private final int[] originalVertex;
+
+    private long[][] candidatesAt;
+    private int[][] orderAt;
+    private int[][] colorAt;
+    private long[] uncolored;
+    private long[] colorClass;
+    private int[] clique;
+    private int[] best;
+    private int bestSize;
+    private long nodes;
+    private long startNanos;
+    private long budgetNanos;
+    private boolean timedOut;
+
+    public MaxCliqueFinder(boolean[][] graph) {
+        this(BitsetCliqueFinder.toBitsets(graph), graph.length);
+    }
+
+    // Rows must be symmetric and must not contain the vertex itself
+    public MaxCliqueFinder(long[][] rows, int n) {
+        this.n = n;
+        this.words = BitsetCliqueFinder.wordsFor(n);
+        this.originalVertex = orderByDegree(rows, n);
+        this.adjacency = renumber(rows, originalVertex, words);
+    }
+
+    public Result maximumClique(Duration budget) {
+        return maximumClique(budget, 0);
+    }
+
+    // Only cliques larger than lowerBound are searched for; if there is none, the result is
+    // the greedy clique (possibly smaller than lowerBound) and is proven when the search completed
+    public Result maximumClique(Duration budget, int lowerBound) {
+        startNanos = System.nanoTime();
+        budgetNanos = toNanos(budget);
+        nodes = 0;
+        timedOut = false;
+
+        candidatesAt = new long[n + 1][];
+        orderAt = new int[n + 1][];
+        colorAt = new int[n + 1][];
+        uncolored = new long[words];
+        colorClass = new long[words];
+        clique = new int[n];
+        best = greedyClique();
+        bestSize = Math.max(best.length, lowerBound);
+
+        if (n > 0) {
+            long[] all = buffer(0);
+            BitsetCliqueFinder.fill(all, n);
+            expand(0);
+        }
+
+        int[] result = new int[best.length];
+        for (int i = 0; i < best.length; i++) {
+            result[i] = originalVertex[best[i]];
+        }
+        Arrays.sort(result);
+        return new Result(result, !timedOut, nodes, Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    private void expand(int size) {
+        nodes++;
+        if (nodes % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - startNanos > budgetNanos) {
+            timedOut = true;
+        }
+        if (timedOut) {
+            return;
+        }
+
+        long[] candidates = candidatesAt[size];
+        int[] order = orderAt(size);
+        int[] colors = colorAt[size];
+        int count = colorSort(candidates, bestSize - size + 1, order, colors);
+
+        long[] next = buffer(size + 1);
+        for (int i = count - 1; i >= 0; i--) {
+            if (size + colors[i] <= bestSize) {
+                return;
+            }
+            int v = order[i];
+            clique[size] = v;
+
+            boolean empty = true;
+            long[] row = adjacency[v];
+            for (int w = 0; w < words; w++) {
+                next[w] = candidates[w] & row[w];
+                empty &= next[w] == 0;
+            }
+            if (empty) {
+                if (size + 1 > bestSize) {
+                    best = Arrays.copyOf(clique, size + 1);
+                    bestSize = size + 1;
+                }
+            } else {
+                expand(size + 1);
+                if (timedOut) {
+                    return;
+                }
+            }
+            candidates[v >>> 6] &= ~(1L << v);
+        }
+    }
+
+    // Greedy sequential coloring. Vertices with a color below minColor can never improve
+    // on the best clique, so they stay candidates but are not listed for branching.
+    // Returns how many vertices were listed; colors[] is non-decreasing.
+    private int colorSort(long[] candidates, int minColor, int[] order, int[] colors) {
+        System.arraycopy(candidates, 0, uncolored, 0, words);
+        int count = 0;
+        int color = 0;
+        int first = 0;
+        while (true) {
+            while (first < words && uncolored[first] == 0) {
+                first++;
+            }
+            if (first == words) {
+                return count;
+            }
+            color++;
+            System.arraycopy(uncolored, first, colorClass, first, words - first);
+            for (int w = first; w < words; w++) {
+                while (colorClass[w] != 0) {
+                    int v = (w << 6) | Long.numberOfTrailingZeros(colorClass[w]);
+                    uncolored[w] &= ~(1L << v);
+                    colorClass[w] &= ~(1L << v);
+                    long[] row = adjacency[v];
+                    for (int x = w; x < words; x++) {
+                        colorClass[x] &= ~row[x];
+                    }
+                    if (color >= minColor) {
+                        order[count] = v;
+                        colors[count] = color;
+                        count++;
+                    }
+                }
+            }
+        }
+    }
+
+    // Initial lower bound: add vertices in degree order while they stay pairwise adjacent
+    private int[] greedyClique() {
+        int[] members = new int[n];
+        int size = 0;
+        for (int v = 0; v < n; v++) {
+            boolean adjacentToAll = true;
+            for (int i = 0; i < size && adjacentToAll; i++) {
+                int u = members[i];
+                adjacentToAll = (adjacency[v][u >>> 6] & (1L << u)) != 0;
+            }
+            if (adjacentToAll) {
+                members[size++] = v;
+            }
+        }
+        return Arrays.copyOf(members, size);
+    }
+
+    private long[] buffer(int depth) {
+        if (candidatesAt[depth] == null) {
+            candidatesAt[depth] = new long[words];
+        }
+        return candidatesAt[depth];
+    }
+
+    private int[] orderAt(int depth) {
+        if (orderAt[depth] == null) {
+            orderAt[depth] = new int[n];
+            colorAt[depth] = new int[n];
+        }
+        return orderAt[depth];
+    }
+
+    private static long toNanos(Duration budget) {
+        try {
+            return budget.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static int[] orderByDegree(long[][] rows, int n) {
+        int[] degree = new int[n];
+        Integer[] vertices = new Integer[n];
+        for (int v = 0; v < n; v++) {
+            for (long word : rows[v]) {
+                degree[v] += Long.bitCount(word);
+            }
+            vertices[v] = v;
+        }
+        Arrays.sort(vertices, (a, b) -> Integer.compare(degree[b], degree[a]));
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = vertices[i];
+        }
+        return order;
+    }
+
+    private static long[][] renumber(long[][] rows, int[] order, int words) {
+        int n = order.length;
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[order[i]] = i;
+        }
+        long[][] renumbered = new long[n][words];
+        for (int i = 0; i < n; i++) {
+            long[] source = rows[order[i]];
+            for (int w = 0; w < source.length; w++) {
+                long bits = source[w];
+                while (bits != 0) {
+                    int u = position[(w << 6) | Long.numberOfTrailingZeros(bits)];
+                    bits &= bits - 1;
+                    renumbered[i][u >>> 6] |= 1L << u;
+                }
+            }
+        }
+        return renumbered;
+    }
+}
@@ -0,0 +1,216 @@
+package main;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Parallel version of the bitset clique search on a work-stealing pool.
+// Top-level branches always become tasks; deeper branches are split again only when they
+// are large and the current worker has run out of work that others could steal.
+// All workers share one "found" flag, so the whole search stops at the first k-clique.
+public class ParallelCliqueSearch {
+    // Branches with fewer candidates than this are always searched sequentially
+    private static final int MIN_SPLIT_CANDIDATES = 24;
+    // Split a branch only while the worker has at most this many queued tasks left
+    private static final int SURPLUS_LIMIT = 2;
+    // Below this depth subtrees are small enough that splitting costs more than it saves
+    private static final int MAX_SPLIT_DEPTH = 4;
+
+    private final long[][] adjacency;
+    private final int n;
+    private final int words;
+    private final ForkJoinPool pool;
+
+    private final Map<String, LongAdder> nodesPerWorker = new ConcurrentHashMap<>();
+    private AtomicBoolean found;
+    private AtomicReference<int[]> result;
+    private boolean complement;
+    private int k;
+
+    public ParallelCliqueSearch(boolean[][] graph) {
+        this(BitsetCliqueFinder.toBitsets(graph), graph.length, ForkJoinPool.commonPool());
+    }
+
+    public ParallelCliqueSearch(long[][] adjacency, int n, ForkJoinPool pool) {
+        this.adjacency = adjacency;
+        this.n = n;
+        this.words = BitsetCliqueFinder.wordsFor(n);
+        this.pool = pool;
+    }
+
+    public boolean hasClique(int k) {
+        return findClique(k) != null;
+    }
+
+    public boolean hasStableSet(int k) {
+        return findStableSet(k) != null;
+    }
+
+    public int[] findClique(int k) {
+        return search(k, false);
+    }
+
+    public int[] findStableSet(int k) {
+        return search(k, true);
+    }
+
+    // Nodes expanded by each worker thread during the last query, by thread name
+    public Map<String, Long> getNodesPerWorker() {
+        Map<String, Long> report = new TreeMap<>();
+        nodesPerWorker.forEach((worker, nodes) -> report.put(worker, nodes.sum()));
+        return report;
+    }
+
+    public long getNodesExplored() {
+        long total = 0;
+        for (LongAdder nodes : nodesPerWorker.values()) {
+            total += nodes.sum();
+        }
+        return total;
+    }
+
+    private synchronized int[] search(int k, boolean complement) {
+        nodesPerWorker.clear();
+        if (k <= 0) {
+            return new int[0];
+        }
+        if (k > n) {
+            return null;
+        }
+        this.k = k;
+        this.complement = complement;
+        this.found = new AtomicBoolean(false);
+        this.result = new AtomicReference<>();
+
+        long[] all = new long[words];
+        BitsetCliqueFinder.fill(all, n);
+        pool.invoke(new BranchTask(new int[0], all));
+        return result.get();
+    }
+
+    private final class BranchTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int[] prefix;
+        private final long[] candidates;
+
+        private long[][] candidatesAt;
+        private long[] uncolored;
+        private long[] colorClass;
+        private int[] clique;
+        private long nodes;
+
+        BranchTask(int[] prefix, long[] candidates) {
+            this.prefix = prefix;
+            this.candidates = candidates;
+        }
+
+        @Override
+        protected void compute() {
+            if (found.get()) {
+                return;
+            }
+            candidatesAt = new long[k + 1][];
+            uncolored = new long[words];
+            colorClass = new long[words];
+            clique = new int[k];
+            System.arraycopy(prefix, 0, clique, 0, prefix.length);
+            candidatesAt[prefix.length] = candidates;
+
+            expand(prefix.length);
+            nodesPerWorker.computeIfAbsent(Thread.currentThread().getName(), name -> new LongAdder()).add(nodes);
+        }
+
+        private boolean expand(int size) {
+            nodes++;
+            if (size == k) {
+                if (found.compareAndSet(false, true)) {
+                    result.set(clique.clone());
+                }
+                return true;
+            }
+            if (found.get()) {
+                return true;
+            }
+            long[] current = candidatesAt[size];
+            if (size + BitsetCliqueFinder.colorBound(adjacency, words, complement, current, k - size,
+                    uncolored, colorClass) < k) {
+                return false;
+            }
+
+            int pivot = BitsetCliqueFinder.choosePivot(adjacency, words, complement, current);
+            if (shouldSplit(size, current)) {
+                split(size, current, pivot);
+                return found.get();
+            }
+
+            long[] next = buffer(size + 1);
+            for (int w = 0; w < words; w++) {
+                long branch = BitsetCliqueFinder.branchWord(adjacency, complement, current, pivot, w);
+                while (branch != 0) {
+                    int v = (w << 6) | Long.numberOfTrailingZeros(branch);
+                    branch &= branch - 1;
+
+                    BitsetCliqueFinder.neighbourhood(adjacency, words, complement, current, v, next);
+                    clique[size] = v;
+                    if (expand(size + 1)) {
+                        return true;
+                    }
+                    current[w] &= ~(1L << v);
+                }
+            }
+            return false;
+        }
+
+        private boolean shouldSplit(int size, long[] current) {
+            if (size == 0) {
+                return true;
+            }
+            if (size > MAX_SPLIT_DEPTH || getSurplusQueuedTaskCount() > SURPLUS_LIMIT) {
+                return false;
+            }
+            int count = 0;
+            for (long word : current) {
+                count += Long.bitCount(word);
+            }
+            return count >= MIN_SPLIT_CANDIDATES;
+        }
+
+        // Same branches the sequential loop would take, each handed to its own task
+        private void split(int size, long[] current, int pivot) {
+            List<BranchTask> tasks = new ArrayList<>();
+            for (int w = 0; w < words; w++) {
+                long branch = BitsetCliqueFinder.branchWord(adjacency, complement, current, pivot, w);
+                while (branch != 0) {
+                    int v = (w << 6) | Long.numberOfTrailingZeros(branch);
+                    branch &= branch - 1;
+
+                    long[] next = new long[words];
+                    BitsetCliqueFinder.neighbourhood(adjacency, words, complement, current, v, next);
+                    int[] childPrefix = new int[size + 1];
+                    System.arraycopy(clique, 0, childPrefix, 0, size);
+                    childPrefix[size] = v;
+                    tasks.add(new BranchTask(childPrefix, next));
+                    current[w] &= ~(1L << v);
+                }
+            }
+            invokeAll(tasks);
+        }
+
+        private long[] buffer(int depth) {
+            if (candidatesAt[depth] == null) {
+                candidatesAt[depth] = new long[words];
+            }
+            return candidatesAt[depth];
+        }
+    }
+}
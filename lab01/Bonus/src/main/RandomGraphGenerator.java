@@ -0,0 +1,134 @@
+package main;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// Seeded G(n, p) generator that fills rows in parallel.
+// Rows are cut into fixed bands and every band gets its own SplittableRandom split from the
+// seed in band order, so the same seed gives the same graph whatever the number of cores.
+// Sparse graphs are drawn with geometric skips: only the edges are sampled, in O(n + m).
+public class RandomGraphGenerator {
+    private static final int BAND_ROWS = 64;
+
+    private final long seed;
+
+    public RandomGraphGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public RandomGraphGenerator() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean[][] generateMatrix(int n, double p) {
+        boolean[][] graph = new boolean[n][n];
+        SplittableRandom[] bands = bandRandoms(n);
+        // Cell (j, i) is only ever written by the band owning row i < j, so bands never collide
+        IntStream.range(0, bands.length).parallel().forEach(band -> {
+            SplittableRandom random = bands[band];
+            for (int i = band * BAND_ROWS; i < Math.min(n, (band + 1) * BAND_ROWS); i++) {
+                for (int j = i + 1; j < n; j++) {
+                    graph[i][j] = graph[j][i] = random.nextDouble() < p;
+                }
+            }
+        });
+        return graph;
+    }
+
+    // Same graph as generateMatrix for the same seed, as bitset rows for the clique engines
+    public long[][] generateBitsets(int n, double p) {
+        int words = BitsetCliqueFinder.wordsFor(n);
+        long[][] upper = new long[n][words];
+        SplittableRandom[] bands = bandRandoms(n);
+        IntStream.range(0, bands.length).parallel().forEach(band -> {
+            SplittableRandom random = bands[band];
+            for (int i = band * BAND_ROWS; i < Math.min(n, (band + 1) * BAND_ROWS); i++) {
+                for (int j = i + 1; j < n; j++) {
+                    if (random.nextDouble() < p) {
+                        upper[i][j >>> 6] |= 1L << j;
+                    }
+                }
+            }
+        });
+
+        // Mirror the upper triangle; every row only writes to itself and reads the other rows
+        long[][] rows = new long[n][words];
+        IntStream.range(0, n).parallel().forEach(j -> {
+            long[] row = rows[j];
+            int word = j >>> 6;
+            long bit = 1L << j;
+            for (int i = 0; i < j; i++) {
+                if ((upper[i][word] & bit) != 0) {
+                    row[i >>> 6] |= 1L << i;
+                }
+            }
+            for (int w = 0; w < words; w++) {
+                row[w] |= upper[j][w];
+            }
+        });
+        return rows;
+    }
+
+    // G(n, p) sampled by skipping over the non-edges of each row, for small p
+    public SparseGraph generateSparse(int n, double p) {
+        if (p <= 0.0) {
+            return SparseGraph.fromEdges(n, new int[0], 0);
+        }
+        SplittableRandom[] bands = bandRandoms(n);
+        int[][] bandEdges = new int[bands.length][];
+        int[] bandCounts = new int[bands.length];
+        double logQ = Math.log1p(-p);
+
+        IntStream.range(0, bands.length).parallel().forEach(band -> {
+            SplittableRandom random = bands[band];
+            int[] edges = new int[64];
+            int count = 0;
+            for (int i = band * BAND_ROWS; i < Math.min(n, (band + 1) * BAND_ROWS); i++) {
+                long j = i;
+                while (true) {
+                    // Number of non-edges before the next edge is geometric with parameter p
+                    double skip = Math.floor(Math.log(1.0 - random.nextDouble()) / logQ);
+                    if (j + 1 + skip >= n) {
+                        break;
+                    }
+                    j += 1 + (long) skip;
+                    if (2 * count + 2 > edges.length) {
+                        edges = Arrays.copyOf(edges, edges.length * 2);
+                    }
+                    edges[2 * count] = i;
+                    edges[2 * count + 1] = (int) j;
+                    count++;
+                }
+            }
+            bandEdges[band] = edges;
+            bandCounts[band] = count;
+        });
+
+        int total = 0;
+        for (int count : bandCounts) {
+            total += count;
+        }
+        int[] edges = new int[2 * total];
+        int position = 0;
+        for (int band = 0; band < bands.length; band++) {
+            System.arraycopy(bandEdges[band], 0, edges, position, 2 * bandCounts[band]);
+            position += 2 * bandCounts[band];
+            bandEdges[band] = null;
+        }
+        return SparseGraph.fromEdges(n, edges, total);
+    }
+
+    private SplittableRandom[] bandRandoms(int n) {
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] bands = new SplittableRandom[(n + BAND_ROWS - 1) / BAND_ROWS];
+        for (int band = 0; band < bands.length; band++) {
+            bands[band] = root.split();
+        }
+        return bands;
+    }
+}
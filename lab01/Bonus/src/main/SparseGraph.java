@@ -0,0 +1,82 @@
+package main;
+
+import java.util.Arrays;
+
+// Undirected graph in compressed sparse row form: the neighbours of v are
+// targets[offsets[v]] .. targets[offsets[v + 1] - 1], sorted increasingly.
+public class SparseGraph {
+    private final int n;
+    private final int[] offsets;
+    private final int[] targets;
+
+    public SparseGraph(int n, int[] offsets, int[] targets) {
+        this.n = n;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    // Builds the graph from edge pairs (edges[2i], edges[2i + 1]) in O(n + m).
+    // Pairs must be distinct, without self loops, and listed with the smaller vertex first in
+    // increasing (first, second) order for the neighbour lists to come out sorted.
+    public static SparseGraph fromEdges(int n, int[] edges, int edgeCount) {
+        int[] offsets = new int[n + 1];
+        for (int e = 0; e < 2 * edgeCount; e++) {
+            offsets[edges[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] position = Arrays.copyOf(offsets, n);
+        int[] targets = new int[2 * edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int u = edges[2 * e];
+            int v = edges[2 * e + 1];
+            targets[position[u]++] = v;
+            targets[position[v]++] = u;
+        }
+        return new SparseGraph(n, offsets, targets);
+    }
+
+    public static SparseGraph fromMatrix(boolean[][] graph) {
+        int n = graph.length;
+        int[] edges = new int[16];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (graph[i][j]) {
+                    if (2 * count + 2 > edges.length) {
+                        edges = Arrays.copyOf(edges, edges.length * 2);
+                    }
+                    edges[2 * count] = i;
+                    edges[2 * count + 1] = j;
+                    count++;
+                }
+            }
+        }
+        return fromEdges(n, edges, count);
+    }
+
+    public int getVertexCount() {
+        return n;
+    }
+
+    public long getEdgeCount() {
+        return targets.length / 2;
+    }
+
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getTargets() {
+        return targets;
+    }
+
+    public boolean hasEdge(int u, int v) {
+        return Arrays.binarySearch(targets, offsets[u], offsets[u + 1], v) >= 0;
+    }
+}
@@ -0,0 +1,140 @@
+package LAB1;
+
+// Edge count and degree statistics accumulated while a graph is being built, so that every
+// report afterwards is O(n) instead of another pass over the whole matrix.
+// Edges can be added one at a time or as 64-column words of an upper-triangle row; words
+// update the column degrees through bit-sliced counters, without touching single bits.
+public class GraphStats {
+    private final int n;
+    private final int[] degrees;
+    private long edges;
+
+    // Bit-sliced per-column counters for words added with addRowWord, not yet in degrees
+    private final long[][] columnCount;
+    private boolean pendingColumns;
+
+    private boolean dirty = true;
+    private int maxDegree;
+    private int minDegree;
+    private int[] histogram;
+
+    public GraphStats(int n) {
+        this.n = n;
+        this.degrees = new int[n];
+        int planes = 32 - Integer.numberOfLeadingZeros(Math.max(n, 1));
+        this.columnCount = new long[planes][(n + 63) >>> 6];
+    }
+
+    public void addEdge(int i, int j) {
+        degrees[i]++;
+        degrees[j]++;
+        edges++;
+        dirty = true;
+    }
+
+    // Adds the edges between row and the set columns 64*word..64*word+63 (all above row)
+    public void addRowWord(int row, int word, long bits) {
+        if (bits == 0) {
+            return;
+        }
+        int count = Long.bitCount(bits);
+        degrees[row] += count;
+        edges += count;
+        // Ripple-carry add of one bit per column into the counters
+        long carry = bits;
+        for (int p = 0; carry != 0; p++) {
+            long next = columnCount[p][word] & carry;
+            columnCount[p][word] ^= carry;
+            carry = next;
+        }
+        pendingColumns = true;
+        dirty = true;
+    }
+
+    // Adds everything gathered by another accumulator over the same vertices
+    public void merge(GraphStats other) {
+        other.flushColumns();
+        for (int v = 0; v < n; v++) {
+            degrees[v] += other.degrees[v];
+        }
+        edges += other.edges;
+        dirty = true;
+    }
+
+    public int getVertexCount() {
+        return n;
+    }
+
+    public long getEdgeCount() {
+        return edges;
+    }
+
+    public int getDegree(int vertex) {
+        flushColumns();
+        return degrees[vertex];
+    }
+
+    public int[] getDegrees() {
+        flushColumns();
+        return degrees.clone();
+    }
+
+    public long getDegreeSum() {
+        flushColumns();
+        long sum = 0;
+        for (int degree : degrees) {
+            sum += degree;
+        }
+        return sum;
+    }
+
+    public int getMaxDegree() {
+        summarize();
+        return maxDegree;
+    }
+
+    public int getMinDegree() {
+        summarize();
+        return minDegree;
+    }
+
+    // histogram[d] is the number of vertices with degree d
+    public int[] getDegreeHistogram() {
+        summarize();
+        return histogram.clone();
+    }
+
+    private void summarize() {
+        if (!dirty) {
+            return;
+        }
+        flushColumns();
+        maxDegree = 0;
+        minDegree = n == 0 ? 0 : Integer.MAX_VALUE;
+        histogram = new int[Math.max(n, 1)];
+        for (int degree : degrees) {
+            maxDegree = Math.max(maxDegree, degree);
+            minDegree = Math.min(minDegree, degree);
+            histogram[degree]++;
+        }
+        dirty = false;
+    }
+
+    private void flushColumns() {
+        if (!pendingColumns) {
+            return;
+        }
+        for (int p = 0; p < columnCount.length; p++) {
+            long[] plane = columnCount[p];
+            for (int w = 0; w < plane.length; w++) {
+                long bits = plane[w];
+                while (bits != 0) {
+                    degrees[(w << 6) | Long.numberOfTrailingZeros(bits)] += 1 << p;
+                    bits &= bits - 1;
+                }
+                plane[w] = 0;
+            }
+        }
+        pendingColumns = false;
+    }
+}
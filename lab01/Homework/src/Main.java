@@ -1,40 +1,48 @@
 package LAB1;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
 public class Main {
     public static void main(String[] args) {
         //ex1
-       if(args.length != 2) {
+       if(args.length < 2) {
            System.out.println("Insufficient arguments");
            return;
        }
        int n = Integer.parseInt(args[0]);
        int k = Integer.parseInt(args[1]);
+       // optional seed, for reproducible graphs
+       RandomGraphGenerator generator = args.length > 2
+               ? new RandomGraphGenerator(Long.parseLong(args[2]))
+               : new RandomGraphGenerator();
 
        //ex 2
-       int[][] adjacencyMatrix = createAdjacencyMatrix(n,k);
+       GraphStats stats = new GraphStats(n);
+       PackedAdjacencyMatrix adjacencyMatrix = createAdjacencyMatrix(generator,n,k,stats);
 
        //ex3
        System.out.println("Matrix is: ");
        printMatrix(adjacencyMatrix);
 
        //ex4
-        int edges_number = printEdgesNumber(adjacencyMatrix);
+        long edges_number = printEdgesNumber(stats);
         System.out.println("Number of edges: " + edges_number);
 
         //ex5
-        printMaxAndMinDegree(adjacencyMatrix);
+        printMaxAndMinDegree(stats);
 
         //ex6
-        verifyDegrees(adjacencyMatrix,edges_number);
+        verifyDegrees(stats,edges_number);
 
 
     }
 
-    private static void verifyDegrees(int[][] matrix,int edges_number){
-        int degree_number=0;
-        for(int[] row:matrix)
-            for(int cell:row)
-                degree_number +=cell;
+    private static void verifyDegrees(GraphStats stats,long edges_number){
+        long degree_number=stats.getDegreeSum();
 
         if(degree_number == 2*edges_number)
             System.out.println("The sum of degrees is equal to 2*m");
@@ -42,73 +50,39 @@ public class Main {
 
     }
 
-    private static void printMaxAndMinDegree(int[][] matrix) {
-        int maxDegree = 0;
-        int minDegree = Integer.MAX_VALUE;
-        for(int[] row: matrix)
-        {
-            int degree = 0;
-            for(int cell: row)
-                degree += cell;
-            if(degree > maxDegree)
-                maxDegree = degree;
-            if(degree < minDegree)
-                minDegree = degree;
-        }
+    private static void printMaxAndMinDegree(GraphStats stats) {
+        int maxDegree = stats.getMaxDegree();
+        int minDegree = stats.getMinDegree();
         System.out.println("Max degree ( Δ(G) ) : " + maxDegree);
         System.out.println("Min degree ( δ(G) ) : " + minDegree);
 
     }
 
-    private static int printEdgesNumber(int[][] matrix) {
-        int edges = 0;
-        for(int i = 0; i < matrix.length; i++)
-            for(int j = i + 1; j < matrix.length; j++)
-                edges += matrix[i][j];
-        return edges;
+    private static long printEdgesNumber(GraphStats stats) {
+        return stats.getEdgeCount();
 
     }
 
-    private static void printMatrix(int[][] matrix) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("\u2B1C for 1 and \u2B1B for 0\n\n");
-        for (int[] row : matrix) {
-            for (int cell : row) {
-                sb.append(cell == 1 ? "\u2B1C " : "\u2B1B ");
-            }
-            sb.append("\n");
-        }
-        System.out.println(sb.toString());
-    }
-
-    private static int[][] createAdjacencyMatrix(int n,int k) {
-        int[][] matrix = new int[n][n];
-
-        // Create a clique of size k
-        for (int i = 0; i < k; i++) {
-            for (int j = i + 1; j < k; j++) {
-                matrix[i][j] = 1;
-                matrix[j][i] = 1;
-            }
-        }
-
-        // Create a stable set of size k
-        for (int i = k; i < 2 * k; i++) {
-            for (int j = k; j < 2 * k; j++) {
-                matrix[i][j] = 0;
-            }
-        }
-
-        // Fill the rest of the matrix randomly
-        for (int i = 0; i < n; i++) {
-            for (int j = i + 1; j < n; j++) {
-                if (matrix[i][j] == 0 && matrix[j][i] == 0) {
-                    matrix[i][j] = Math.random() < 0.5 ? 0 : 1;
-                    matrix[j][i] = matrix[i][j];
+    // Written row by row, so the output never has to fit in memory at once
+    private static void printMatrix(PackedAdjacencyMatrix matrix) {
+        BufferedWriter out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        try {
+            out.write("\u2B1C for 1 and \u2B1B for 0\n\n");
+            for (int i = 0; i < matrix.size(); i++) {
+                for (int j = 0; j < matrix.size(); j++) {
+                    out.write(matrix.get(i, j) ? "\u2B1C " : "\u2B1B ");
                 }
+                out.write("\n");
             }
+            out.write("\n");
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
-        return matrix;
+    static PackedAdjacencyMatrix createAdjacencyMatrix(RandomGraphGenerator generator,int n,int k,GraphStats stats) {
+        // Clique on [0, k), stable set on [k, 2k), every other pair an edge with probability 0.5
+        return generator.generate(n, 0.5, k, stats);
     }
-}
\ No newline at end of file
+}
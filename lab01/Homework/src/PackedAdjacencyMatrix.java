@@ -0,0 +1,123 @@
+package LAB1;
+
+// Symmetric 0/1 adjacency matrix that stores only the strict upper triangle, one bit per cell.
+// Row i keeps the words covering columns i+1..n-1, indexed by absolute column word, so the
+// same word index means the same 64 columns in every row and degrees can be computed with
+// Long.bitCount instead of cell by cell.
+public final class PackedAdjacencyMatrix {
+    private final int n;
+    private final int columnWords;
+    private final int[] rowStart;
+    private final long[] bits;
+
+    public PackedAdjacencyMatrix(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Negative number of vertices: " + n);
+        }
+        this.n = n;
+        this.columnWords = (n + 63) >>> 6;
+        this.rowStart = new int[n + 1];
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            rowStart[i] = (int) total;
+            total += columnWords - firstWord(i);
+            if (total > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Graph with " + n + " vertices is too large for a packed matrix");
+            }
+        }
+        rowStart[n] = (int) total;
+        this.bits = new long[(int) total];
+    }
+
+    public int size() {
+        return n;
+    }
+
+    // Number of 64-column words in a full row
+    public int getColumnWords() {
+        return columnWords;
+    }
+
+    // First column word stored for row i (the word containing column i + 1)
+    public int firstWord(int row) {
+        return Math.min((row + 1) >>> 6, columnWords);
+    }
+
+    public boolean get(int i, int j) {
+        if (i == j) {
+            return false;
+        }
+        if (i > j) {
+            int swap = i;
+            i = j;
+            j = swap;
+        }
+        return (bits[index(i, j >>> 6)] & (1L << j)) != 0;
+    }
+
+    public void set(int i, int j, boolean value) {
+        if (i == j) {
+            throw new IllegalArgumentException("Self loops are not allowed: " + i);
+        }
+        if (i > j) {
+            int swap = i;
+            i = j;
+            j = swap;
+        }
+        int index = index(i, j >>> 6);
+        if (value) {
+            bits[index] |= 1L << j;
+        } else {
+            bits[index] &= ~(1L << j);
+        }
+    }
+
+    // Word of row i covering columns 64*word..64*word+63; only columns i+1..n-1 can be set
+    public long getWord(int row, int word) {
+        return word < firstWord(row) ? 0L : bits[index(row, word)];
+    }
+
+    // Replaces a whole word of row i; bits outside columns i+1..n-1 are dropped
+    public void setWord(int row, int word, long value) {
+        bits[index(row, word)] = value & validColumns(row, word);
+    }
+
+    public long countEdges() {
+        long edges = 0;
+        for (long word : bits) {
+            edges += Long.bitCount(word);
+        }
+        return edges;
+    }
+
+    // Recomputes edge count and degrees from the stored words
+    public GraphStats computeStats() {
+        GraphStats stats = new GraphStats(n);
+        for (int i = 0; i < n; i++) {
+            for (int w = firstWord(i), index = rowStart[i]; w < columnWords; w++, index++) {
+                stats.addRowWord(i, w, bits[index]);
+            }
+        }
+        return stats;
+    }
+
+    public int[] degrees() {
+        return computeStats().getDegrees();
+    }
+
+    private int index(int row, int word) {
+        return rowStart[row] + word - firstWord(row);
+    }
+
+    private long validColumns(int row, int word) {
+        long mask = -1L;
+        int from = row + 1;
+        if (word == from >>> 6) {
+            mask &= -1L << from;
+        }
+        if (word == (n - 1) >>> 6 && (n & 63) != 0) {
+            mask &= (1L << n) - 1;
+        }
+        return mask;
+    }
+}
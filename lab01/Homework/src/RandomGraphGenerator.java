@@ -0,0 +1,119 @@
+package LAB1;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Seeded random graph generator filling a PackedAdjacencyMatrix in parallel.
+// Rows are cut into fixed bands, each with its own SplittableRandom split from the seed in
+// band order, so a seed always gives the same matrix whatever the number of cores.
+// Rows are word aligned, so bands never write to the same word.
+// Each row is drawn 64 cells at a time when p = 0.5, by geometric skips when p is small
+// (cost proportional to the edges) and cell by cell otherwise.
+public class RandomGraphGenerator {
+    private static final int BAND_ROWS = 64;
+    private static final double SKIP_SAMPLING_BELOW = 0.1;
+
+    private final long seed;
+
+    public RandomGraphGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public RandomGraphGenerator() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // G(n, p) with a clique on vertices [0, k) and a stable set on [k, 2k).
+    // The statistics of the generated edges are added to stats.
+    public PackedAdjacencyMatrix generate(int n, double p, int k, GraphStats stats) {
+        PackedAdjacencyMatrix matrix = new PackedAdjacencyMatrix(n);
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] bands = new SplittableRandom[(n + BAND_ROWS - 1) / BAND_ROWS];
+        for (int band = 0; band < bands.length; band++) {
+            bands[band] = root.split();
+        }
+
+        // One statistics accumulator per worker; bands are dealt round robin since rows shrink
+        int workers = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), bands.length));
+        GraphStats[] partial = new GraphStats[workers];
+        IntStream.range(0, workers).parallel().forEach(worker -> {
+            GraphStats local = new GraphStats(n);
+            long[] row = new long[matrix.getColumnWords()];
+            for (int band = worker; band < bands.length; band += workers) {
+                SplittableRandom random = bands[band];
+                for (int i = band * BAND_ROWS; i < Math.min(n, (band + 1) * BAND_ROWS); i++) {
+                    fillRow(matrix, i, p, k, random, local, row);
+                }
+            }
+            partial[worker] = local;
+        });
+        for (GraphStats local : partial) {
+            stats.merge(local);
+        }
+        return matrix;
+    }
+
+    private static void fillRow(PackedAdjacencyMatrix matrix, int i, double p, int k,
+                                SplittableRandom random, GraphStats stats, long[] row) {
+        int n = matrix.size();
+        int firstWord = matrix.firstWord(i);
+        int length = matrix.getColumnWords() - firstWord;
+        Arrays.fill(row, 0, length, 0L);
+
+        if (p == 0.5) {
+            // Every bit of nextLong is a fair coin
+            for (int w = 0; w < length; w++) {
+                row[w] = random.nextLong();
+            }
+        } else if (p > 0 && p < SKIP_SAMPLING_BELOW) {
+            double logQ = Math.log1p(-p);
+            long j = i;
+            while (true) {
+                double skip = Math.floor(Math.log(1.0 - random.nextDouble()) / logQ);
+                if (j + 1 + skip >= n) {
+                    break;
+                }
+                j += 1 + (long) skip;
+                row[(int) (j >>> 6) - firstWord] |= 1L << j;
+            }
+        } else {
+            for (int j = i + 1; j < n; j++) {
+                if (random.nextDouble() < p) {
+                    row[(j >>> 6) - firstWord] |= 1L << j;
+                }
+            }
+        }
+
+        for (int w = 0; w < length; w++) {
+            int word = firstWord + w;
+            long bits = row[w];
+            // Create a clique of size k
+            if (i < k) {
+                bits |= columnRange(word, i + 1, k);
+            }
+            // Create a stable set of size k
+            if (i >= k && i < 2 * k) {
+                bits &= ~columnRange(word, i + 1, 2 * k);
+            }
+            matrix.setWord(i, word, bits);
+            stats.addRowWord(i, word, matrix.getWord(i, word));
+        }
+    }
+
+    // Bits of column word w that fall in columns [from, to)
+    private static long columnRange(int w, int from, int to) {
+        int first = Math.max(from, w << 6);
+        int last = Math.min(to, (w + 1) << 6);
+        if (first >= last) {
+            return 0L;
+        }
+        long upTo = last - (w << 6) == 64 ? -1L : (1L << (last - (w << 6))) - 1;
+        return upTo & (-1L << (first - (w << 6)));
+    }
+}
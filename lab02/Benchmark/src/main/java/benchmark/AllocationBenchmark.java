@@ -0,0 +1,170 @@
+package benchmark;
+
+import main.AllocationInstance;
+import main.Allocator;
+import main.HopcroftKarpAllocator;
+import main.IncrementalAllocator;
+import main.InstanceGenerator;
+import main.MinCostFlowAllocator;
+import main.Project;
+import main.ProjectAllocator;
+import main.ProjectManagement;
+import main.StableMatchingAllocator;
+import main.Student;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Instance generation and every allocator from lab02 Bonus, on object and columnar instances
+// generated once per trial.
+// The "matched" and "students" counters add up over each iteration; BenchmarkRunner prints their ratio.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AllocationBenchmark {
+    static final long SEED = 20250310L;
+
+    @State(Scope.Benchmark)
+    public static class Generation {
+        @Param({"1000", "10000", "100000", "1000000"})
+        int size;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Instance {
+        @Param({"1000", "10000", "100000", "1000000"})
+        int size;
+
+        @Param({"hopcroftKarp", "stable", "minCostFlow", "incremental"})
+        String allocator;
+
+        List<Student> students;
+        Allocator instance;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            students = InstanceGenerator.generate(size, SEED).getStudents();
+            instance = switch (allocator) {
+                case "hopcroftKarp" -> new HopcroftKarpAllocator();
+                case "stable" -> new StableMatchingAllocator(project -> 1, teacher -> 10);
+                case "minCostFlow" -> new MinCostFlowAllocator();
+                case "incremental" -> new IncrementalAllocator();
+                default -> throw new IllegalArgumentException("Unknown allocator: " + allocator);
+            };
+        }
+    }
+
+    // The allocators that can run on the columnar model directly
+    @State(Scope.Benchmark)
+    public static class ColumnarInstance {
+        @Param({"1000", "10000", "100000", "1000000"})
+        int size;
+
+        @Param({"hopcroftKarp", "minCostFlow"})
+        String columnarAllocator;
+
+        AllocationInstance instance;
+        HopcroftKarpAllocator matching;
+        MinCostFlowAllocator minCost;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            instance = InstanceGenerator.generateColumnar(size, SEED);
+            switch (columnarAllocator) {
+                case "hopcroftKarp" -> matching = new HopcroftKarpAllocator();
+                case "minCostFlow" -> minCost = new MinCostFlowAllocator();
+                default -> throw new IllegalArgumentException("Unknown allocator: " + columnarAllocator);
+            }
+        }
+
+        int[] allocate() {
+            return matching != null ? matching.allocate(instance) : minCost.allocate(instance);
+        }
+    }
+
+    // The greedy allocator's second pass is roughly cubic, so it gets its own, small sizes
+    @State(Scope.Benchmark)
+    public static class GreedyInstance {
+        @Param({"1000"})
+        int greedySize;
+
+        List<Student> students;
+        ProjectAllocator instance;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            students = InstanceGenerator.generate(greedySize, SEED).getStudents();
+            instance = new ProjectAllocator();
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Matching {
+        public long matched;
+        public long students;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            matched = 0;
+            students = 0;
+        }
+
+        Map<Student, Project> record(Map<Student, Project> allocation, int size) {
+            matched += allocation.size();
+            students += size;
+            return allocation;
+        }
+
+        int[] record(int[] studentMatch) {
+            for (int project : studentMatch) {
+                if (project != AllocationInstance.NONE) {
+                    matched++;
+                }
+            }
+            students += studentMatch.length;
+            return studentMatch;
+        }
+    }
+
+    @Benchmark
+    public ProjectManagement generateInstance(Generation state) {
+        return InstanceGenerator.generate(state.size, SEED);
+    }
+
+    @Benchmark
+    public AllocationInstance generateColumnarInstance(Generation state) {
+        return InstanceGenerator.generateColumnar(state.size, SEED);
+    }
+
+    @Benchmark
+    public Map<Student, Project> allocate(Instance state, Matching matching) {
+        return matching.record(state.instance.allocateProjects(state.students), state.students.size());
+    }
+
+    @Benchmark
+    public Map<Student, Project> allocateGreedy(GreedyInstance state, Matching matching) {
+        return matching.record(state.instance.allocateProjects(state.students), state.students.size());
+    }
+
+    @Benchmark
+    public int[] allocateColumnar(ColumnarInstance state, Matching matching) {
+        return matching.record(state.allocate());
+    }
+}
@@ -0,0 +1,46 @@
+package benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+// Same command line as the stock JMH launcher (benchmark regex, -p, -wi, ...), but always
+// with the GC profiler, so allocation per operation is reported next to the time, and with
+// the matched fraction of every allocation benchmark printed at the end.
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        System.out.println();
+        System.out.println("Matched fraction:");
+        for (RunResult result : results) {
+            Result<?> matched = result.getSecondaryResults().get("matched");
+            Result<?> students = result.getSecondaryResults().get("students");
+            if (matched == null || students == null || students.getScore() == 0) {
+                continue;
+            }
+            BenchmarkParams params = result.getParams();
+            StringBuilder name = new StringBuilder(params.getBenchmark());
+            for (String key : params.getParamsKeys()) {
+                name.append(' ').append(key).append('=').append(params.getParam(key));
+            }
+            System.out.printf("%s: %.4f%n", name, matched.getScore() / students.getScore());
+        }
+    }
+}
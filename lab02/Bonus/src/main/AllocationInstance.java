@@ -0,0 +1,650 @@
+package main;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * Column-oriented allocation instance for very large inputs.
+ * Students, projects and teachers are plain int ids; each of their fields is an int column, the
+ * preferences are one compressed sparse row array, and the strings are packed as bytes into
+ * name tables, with keys and dates of birth stored once and looked up by hash. Allocators can
+ * run on the arrays directly, and the adapters convert from and to Student, Project and Teacher
+ * objects when needed.
+ * Registration numbers, project names and teacher names are keys: their table ids are the
+ * student, project and teacher ids, and adding a second entity with the same key is refused,
+ * as in ProjectManagement.
+ */
+public final class AllocationInstance {
+    /** Id of a missing string, or of the teacher of a project that has no proposer. */
+    public static final int NONE = -1;
+
+    private final NameTable registrations = new NameTable(true);
+    private final NameTable projectNames = new NameTable(true);
+    private final NameTable teacherNames = new NameTable(true);
+    // Dates of birth repeat a lot, so they are shared; names, descriptions and specializations are only packed
+    private final NameTable dates = new NameTable(true);
+    private final NameTable text = new NameTable(false);
+
+    private int[] studentName = new int[16];
+    private int[] studentDate = new int[16];
+    private int[] preferenceOffsets = new int[17];
+    private int[] preferences = new int[64];
+
+    private int[] projectDescription = new int[16];
+    private int[] projectProposer = new int[16];
+
+    private int[] teacherDate = new int[16];
+    private int[] specializationOffsets = new int[17];
+    private int[] specializations = new int[16];
+
+    // The objects each id was read from or last turned into, so the adapters always hand back the same ones
+    private Student[] studentObjects;
+    private Project[] projectObjects;
+    private Teacher[] teacherObjects;
+
+    /**
+     * Adds a teacher if no teacher with the same name is present.
+     *
+     * @param name The teacher's name
+     * @param dateOfBirth The teacher's date of birth
+     * @param specializations The teacher's specializations
+     * @return The id of the new teacher, or NONE if the name is taken
+     */
+    public int addTeacher(String name, String dateOfBirth, String... specializations) {
+        int t = teacherNames.size();
+        if (teacherNames.intern(name) != t) return NONE;
+
+        teacherDate = ensure(teacherDate, t);
+        teacherDate[t] = dates.intern(dateOfBirth);
+        int start = specializationOffsets[t];
+        int count = specializations == null ? 0 : specializations.length;
+        this.specializations = ensure(this.specializations, start + count - 1);
+        for (int i = 0; i < count; i++) {
+            this.specializations[start + i] = text.intern(specializations[i]);
+        }
+        specializationOffsets = ensure(specializationOffsets, t + 1);
+        specializationOffsets[t + 1] = start + count;
+        return t;
+    }
+
+    /**
+     * Adds a project if no project with the same name is present.
+     *
+     * @param name The project name
+     * @param description The project description
+     * @param proposer The id of the proposing teacher, or NONE
+     * @return The id of the new project, or NONE if the name is taken
+     */
+    public int addProject(String name, String description, int proposer) {
+        if (proposer < NONE || proposer >= getTeacherCount()) {
+            throw new IllegalArgumentException("Unknown teacher id: " + proposer);
+        }
+        int p = projectNames.size();
+        if (projectNames.intern(name) != p) return NONE;
+
+        projectDescription = ensure(projectDescription, p);
+        projectProposer = ensure(projectProposer, p);
+        projectDescription[p] = text.intern(description);
+        projectProposer[p] = proposer;
+        return p;
+    }
+
+    /**
+     * Adds a student if no student with the same registration number is present.
+     *
+     * @param name The student's name
+     * @param dateOfBirth The student's date of birth
+     * @param registrationNumber The student's unique registration number
+     * @param preferences The ids of the preferred projects, most preferred first
+     * @return The id of the new student, or NONE if the registration number is taken
+     */
+    public int addStudent(String name, String dateOfBirth, String registrationNumber, int... preferences) {
+        int projectCount = getProjectCount();
+        for (int p : preferences) {
+            if (p < 0 || p >= projectCount) {
+                throw new IllegalArgumentException("Unknown project id: " + p);
+            }
+        }
+        int s = registrations.size();
+        if (registrations.intern(registrationNumber) != s) return NONE;
+
+        studentName = ensure(studentName, s);
+        studentDate = ensure(studentDate, s);
+        studentName[s] = text.intern(name);
+        studentDate[s] = dates.intern(dateOfBirth);
+        int start = preferenceOffsets[s];
+        this.preferences = ensure(this.preferences, start + preferences.length - 1);
+        System.arraycopy(preferences, 0, this.preferences, start, preferences.length);
+        preferenceOffsets = ensure(preferenceOffsets, s + 1);
+        preferenceOffsets[s + 1] = start + preferences.length;
+        return s;
+    }
+
+    /**
+     * Gets the number of students.
+     *
+     * @return The number of students, which are numbered from 0
+     */
+    public int getStudentCount() {
+        return registrations.size();
+    }
+
+    /**
+     * Gets the number of projects.
+     *
+     * @return The number of projects, which are numbered from 0
+     */
+    public int getProjectCount() {
+        return projectNames.size();
+    }
+
+    /**
+     * Gets the number of teachers.
+     *
+     * @return The number of teachers, which are numbered from 0
+     */
+    public int getTeacherCount() {
+        return teacherNames.size();
+    }
+
+    /**
+     * Gets the id of the student with the given registration number.
+     *
+     * @param registrationNumber The registration number to look up
+     * @return The student id, or NONE if there is no such student
+     */
+    public int getStudentId(String registrationNumber) {
+        return registrations.find(registrationNumber);
+    }
+
+    /**
+     * Gets the id of the project with the given name.
+     *
+     * @param name The project name to look up
+     * @return The project id, or NONE if there is no such project
+     */
+    public int getProjectId(String name) {
+        return projectNames.find(name);
+    }
+
+    /**
+     * Gets the id of the teacher with the given name.
+     *
+     * @param name The teacher name to look up
+     * @return The teacher id, or NONE if there is no such teacher
+     */
+    public int getTeacherId(String name) {
+        return teacherNames.find(name);
+    }
+
+    /**
+     * Gets the name of a student.
+     *
+     * @param student The student id
+     * @return The student's name
+     */
+    public String getStudentName(int student) {
+        return text.get(studentName[checkStudent(student)]);
+    }
+
+    /**
+     * Gets the date of birth of a student.
+     *
+     * @param student The student id
+     * @return The student's date of birth
+     */
+    public String getStudentDateOfBirth(int student) {
+        return dates.get(studentDate[checkStudent(student)]);
+    }
+
+    /**
+     * Gets the registration number of a student.
+     *
+     * @param student The student id
+     * @return The student's registration number
+     */
+    public String getRegistrationNumber(int student) {
+        return registrations.get(checkStudent(student));
+    }
+
+    /**
+     * Gets the preferences of a student.
+     *
+     * @param student The student id
+     * @return A copy of the preferred project ids, most preferred first
+     */
+    public int[] getPreferences(int student) {
+        checkStudent(student);
+        return Arrays.copyOfRange(preferences, preferenceOffsets[student], preferenceOffsets[student + 1]);
+    }
+
+    /**
+     * Gets the name of a project.
+     *
+     * @param project The project id
+     * @return The project name
+     */
+    public String getProjectName(int project) {
+        return projectNames.get(checkProject(project));
+    }
+
+    /**
+     * Gets the description of a project.
+     *
+     * @param project The project id
+     * @return The project description
+     */
+    public String getProjectDescription(int project) {
+        return text.get(projectDescription[checkProject(project)]);
+    }
+
+    /**
+     * Gets the teacher who proposed a project.
+     *
+     * @param project The project id
+     * @return The teacher id, or NONE if the project has no proposer
+     */
+    public int getProjectProposer(int project) {
+        return projectProposer[checkProject(project)];
+    }
+
+    /**
+     * Gets the name of a teacher.
+     *
+     * @param teacher The teacher id
+     * @return The teacher's name
+     */
+    public String getTeacherName(int teacher) {
+        return teacherNames.get(checkTeacher(teacher));
+    }
+
+    /**
+     * Gets the date of birth of a teacher.
+     *
+     * @param teacher The teacher id
+     * @return The teacher's date of birth
+     */
+    public String getTeacherDateOfBirth(int teacher) {
+        return dates.get(teacherDate[checkTeacher(teacher)]);
+    }
+
+    /**
+     * Gets the specializations of a teacher.
+     *
+     * @param teacher The teacher id
+     * @return A new array of the teacher's specializations
+     */
+    public String[] getSpecializations(int teacher) {
+        checkTeacher(teacher);
+        String[] result = new String[specializationOffsets[teacher + 1] - specializationOffsets[teacher]];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = text.get(specializations[specializationOffsets[teacher] + i]);
+        }
+        return result;
+    }
+
+    /*
+     * Direct access for allocators. The arrays may be longer than needed: the preferences of student s
+     * are preferenceTargets()[preferenceOffsets()[s]] up to preferenceTargets()[preferenceOffsets()[s + 1] - 1].
+     * They are replaced when the instance grows, so they must be fetched again after adding anything.
+     */
+
+    int[] preferenceOffsets() {
+        return preferenceOffsets;
+    }
+
+    int[] preferenceTargets() {
+        return preferences;
+    }
+
+    int[] projectProposers() {
+        return projectProposer;
+    }
+
+    /**
+     * Reads the teachers, projects and students of a ProjectManagement, in that order.
+     * Proposers and preferred projects that were never added to it are added as they are found.
+     *
+     * @param pm The ProjectManagement to read
+     * @return The instance, which hands back the same objects from its adapters
+     */
+    public static AllocationInstance from(ProjectManagement pm) {
+        AllocationInstance instance = new AllocationInstance();
+        for (Teacher teacher : pm.getTeachers()) {
+            instance.teacherId(teacher);
+        }
+        for (Project project : pm.getProjects()) {
+            instance.projectId(project);
+        }
+        instance.addStudents(pm.getStudents());
+        instance.trimToSize();
+        return instance;
+    }
+
+    /**
+     * Reads a list of students, numbering projects in the order they are first preferred and
+     * teachers in the order their first project is.
+     * Students whose registration number was already read are skipped.
+     *
+     * @param students The students to read
+     * @return The instance, which hands back the same objects from its adapters
+     */
+    public static AllocationInstance from(List<Student> students) {
+        AllocationInstance instance = new AllocationInstance();
+        instance.addStudents(students);
+        instance.trimToSize();
+        return instance;
+    }
+
+    /**
+     * Gets the Student object for an id, creating it on first use if the instance was not read from objects.
+     *
+     * @param student The student id
+     * @return The student, the same object on every call
+     */
+    public Student toStudent(int student) {
+        checkStudent(student);
+        studentObjects = ensure(studentObjects, Student[]::new, student);
+        if (studentObjects[student] == null) {
+            Student created = new Student(getStudentName(student), getStudentDateOfBirth(student),
+                    getRegistrationNumber(student));
+            List<Project> preferred = new ArrayList<>();
+            for (int e = preferenceOffsets[student]; e < preferenceOffsets[student + 1]; e++) {
+                preferred.add(toProject(preferences[e]));
+            }
+            created.setPreferences(preferred);
+            studentObjects[student] = created;
+        }
+        return studentObjects[student];
+    }
+
+    /**
+     * Gets the Project object for an id, creating it on first use if the instance was not read from objects.
+     *
+     * @param project The project id
+     * @return The project, the same object on every call
+     */
+    public Project toProject(int project) {
+        checkProject(project);
+        projectObjects = ensure(projectObjects, Project[]::new, project);
+        if (projectObjects[project] == null) {
+            int proposer = projectProposer[project];
+            projectObjects[project] = new Project(getProjectName(project), getProjectDescription(project),
+                    proposer == NONE ? null : toTeacher(proposer));
+        }
+        return projectObjects[project];
+    }
+
+    /**
+     * Gets the Teacher object for an id, creating it on first use if the instance was not read from objects.
+     *
+     * @param teacher The teacher id
+     * @return The teacher, the same object on every call
+     */
+    public Teacher toTeacher(int teacher) {
+        checkTeacher(teacher);
+        teacherObjects = ensure(teacherObjects, Teacher[]::new, teacher);
+        if (teacherObjects[teacher] == null) {
+            teacherObjects[teacher] = new Teacher(getTeacherName(teacher), getTeacherDateOfBirth(teacher),
+                    getSpecializations(teacher));
+        }
+        return teacherObjects[teacher];
+    }
+
+    /**
+     * Turns the result of an allocator that ran on this instance into a map.
+     *
+     * @param studentMatch The project id of every student, or NONE for unallocated students
+     * @return A mapping of the allocated students to their projects
+     */
+    public Map<Student, Project> toAllocation(int[] studentMatch) {
+        Map<Student, Project> allocation = new HashMap<>();
+        for (int s = 0; s < studentMatch.length; s++) {
+            if (studentMatch[s] != NONE) {
+                allocation.put(toStudent(s), toProject(studentMatch[s]));
+            }
+        }
+        return allocation;
+    }
+
+    /**
+     * Builds a ProjectManagement holding every teacher, project and student of this instance.
+     *
+     * @return The new ProjectManagement
+     */
+    public ProjectManagement toProjectManagement() {
+        ProjectManagement pm = new ProjectManagement();
+        for (int t = 0; t < getTeacherCount(); t++) {
+            pm.addTeacher(toTeacher(t));
+        }
+        for (int p = 0; p < getProjectCount(); p++) {
+            pm.addProject(toProject(p));
+        }
+        for (int s = 0; s < getStudentCount(); s++) {
+            pm.addStudent(toStudent(s));
+        }
+        return pm;
+    }
+
+    /**
+     * Shrinks every column to its size, releasing the spare room kept for adding more entries.
+     * Instances that are read or generated in one go are trimmed already.
+     */
+    public void trimToSize() {
+        int studentCount = getStudentCount();
+        int projectCount = getProjectCount();
+        int teacherCount = getTeacherCount();
+        studentName = Arrays.copyOf(studentName, studentCount);
+        studentDate = Arrays.copyOf(studentDate, studentCount);
+        preferenceOffsets = Arrays.copyOf(preferenceOffsets, studentCount + 1);
+        preferences = Arrays.copyOf(preferences, preferenceOffsets[studentCount]);
+        projectDescription = Arrays.copyOf(projectDescription, projectCount);
+        projectProposer = Arrays.copyOf(projectProposer, projectCount);
+        teacherDate = Arrays.copyOf(teacherDate, teacherCount);
+        specializationOffsets = Arrays.copyOf(specializationOffsets, teacherCount + 1);
+        specializations = Arrays.copyOf(specializations, specializationOffsets[teacherCount]);
+        for (NameTable table : new NameTable[]{registrations, projectNames, teacherNames, dates, text}) {
+            table.trimToSize();
+        }
+    }
+
+    private void addStudents(List<Student> students) {
+        int[] preferred = new int[16];
+        for (Student student : students) {
+            if (student == null || registrations.find(student.getRegistrationNumber()) != NONE) {
+                continue;
+            }
+            int count = 0;
+            for (Project project : student.getProjects()) {
+                if (project == null) {
+                    continue;
+                }
+                preferred = ensure(preferred, count);
+                preferred[count++] = projectId(project);
+            }
+            int s = addStudent(student.getName(), student.getDateOfBirth(), student.getRegistrationNumber(),
+                    Arrays.copyOf(preferred, count));
+            studentObjects = ensure(studentObjects, Student[]::new, s);
+            studentObjects[s] = student;
+        }
+    }
+
+    // The id of a project with this name, adding the project and its proposer if there is none yet
+    private int projectId(Project project) {
+        int p = projectNames.find(project.getName());
+        if (p != NONE) {
+            return p;
+        }
+        int proposer = project.getProposer() == null ? NONE : teacherId(project.getProposer());
+        p = addProject(project.getName(), project.getDescription(), proposer);
+        projectObjects = ensure(projectObjects, Project[]::new, p);
+        projectObjects[p] = project;
+        return p;
+    }
+
+    private int teacherId(Teacher teacher) {
+        int t = teacherNames.find(teacher.getName());
+        if (t != NONE) {
+            return t;
+        }
+        t = addTeacher(teacher.getName(), teacher.getDateOfBirth(), teacher.getProjects());
+        teacherObjects = ensure(teacherObjects, Teacher[]::new, t);
+        teacherObjects[t] = teacher;
+        return t;
+    }
+
+    private int checkStudent(int student) {
+        return Objects.checkIndex(student, getStudentCount());
+    }
+
+    private int checkProject(int project) {
+        return Objects.checkIndex(project, getProjectCount());
+    }
+
+    private int checkTeacher(int teacher) {
+        return Objects.checkIndex(teacher, getTeacherCount());
+    }
+
+    // Grows the array, doubling it, until index fits
+    private static int[] ensure(int[] array, int index) {
+        if (index < array.length) {
+            return array;
+        }
+        return Arrays.copyOf(array, Math.max(index + 1, array.length * 2));
+    }
+
+    private static <T> T[] ensure(T[] array, IntFunction<T[]> create, int index) {
+        if (array == null) {
+            return create.apply(Math.max(16, index + 1));
+        }
+        if (index < array.length) {
+            return array;
+        }
+        return Arrays.copyOf(array, Math.max(index + 1, array.length * 2));
+    }
+
+    /**
+     * Strings packed as UTF-8 into one byte array and numbered in the order they were added.
+     * An indexed table keeps each string once, with an open addressing hash index over the ids;
+     * any other table just appends. A null string has the id NONE.
+     */
+    private static final class NameTable {
+        private final boolean indexed;
+        private byte[] bytes = new byte[256];
+        private int length;
+        private int[] offsets = new int[17];
+        private int size;
+        // Id + 1 of the string in each slot, 0 for empty slots
+        private int[] slots;
+
+        NameTable(boolean indexed) {
+            this.indexed = indexed;
+            this.slots = indexed ? new int[32] : null;
+        }
+
+        int size() {
+            return size;
+        }
+
+        String get(int id) {
+            if (id == NONE) {
+                return null;
+            }
+            return new String(bytes, offsets[id], offsets[id + 1] - offsets[id], StandardCharsets.UTF_8);
+        }
+
+        int find(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            if (!indexed) {
+                throw new IllegalStateException("Only indexed tables can be searched");
+            }
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            return slots[slot(encoded)] - 1;
+        }
+
+        // The id of the string, adding it unless an indexed table already has it
+        int intern(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            int slot = indexed ? slot(encoded) : 0;
+            if (indexed && slots[slot] != 0) {
+                return slots[slot] - 1;
+            }
+
+            if (length + encoded.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(length + encoded.length, bytes.length * 2));
+            }
+            System.arraycopy(encoded, 0, bytes, length, encoded.length);
+            length += encoded.length;
+            offsets = ensure(offsets, size + 1);
+            offsets[size + 1] = length;
+            int id = size++;
+            if (indexed) {
+                slots[slot] = id + 1;
+                // Keep the index at most three quarters full
+                if (size * 4 > slots.length * 3) {
+                    rehash(slots.length * 2);
+                }
+            }
+            return id;
+        }
+
+        void trimToSize() {
+            bytes = Arrays.copyOf(bytes, length);
+            offsets = Arrays.copyOf(offsets, size + 1);
+            if (indexed) {
+                int capacity = 32;
+                while (size * 4 > capacity * 3) {
+                    capacity *= 2;
+                }
+                rehash(capacity);
+            }
+        }
+
+        // The slot holding the string, or the empty slot where it would go
+        private int slot(byte[] encoded) {
+            int mask = slots.length - 1;
+            int slot = hash(encoded, 0, encoded.length) & mask;
+            while (slots[slot] != 0) {
+                int id = slots[slot] - 1;
+                if (Arrays.equals(bytes, offsets[id], offsets[id + 1], encoded, 0, encoded.length)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void rehash(int capacity) {
+            slots = new int[capacity];
+            int mask = slots.length - 1;
+            for (int id = 0; id < size; id++) {
+                int slot = hash(bytes, offsets[id], offsets[id + 1]) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = id + 1;
+            }
+        }
+
+        private static int hash(byte[] bytes, int from, int to) {
+            int h = 0;
+            for (int i = from; i < to; i++) {
+                h = 31 * h + bytes[i];
+            }
+            // Spread the bits, since the slot is taken from the low ones
+            h *= 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
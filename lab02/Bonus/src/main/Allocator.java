@@ -0,0 +1,18 @@
+package main;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Strategy for assigning each student at most one of the projects they prefer,
+ * with every project going to at most one student.
+ */
+public interface Allocator {
+    /**
+     * Allocates projects to students.
+     *
+     * @param students The list of students to allocate projects to
+     * @return A mapping of the allocated students to their projects; unallocated students are absent
+     */
+    Map<Student, Project> allocateProjects(List<Student> students);
+}
@@ -0,0 +1,22 @@
+package main;
+
+import java.util.List;
+
+/**
+ * A set of students whose preferences, taken together, name fewer projects than there are students.
+ * By Hall's theorem such a set exists exactly when no allocation can give every student a project,
+ * and it shows which students are competing for too few projects.
+ *
+ * @param students The students in the violating set
+ * @param projects Every project preferred by at least one of those students
+ */
+public record HallViolation(List<Student> students, List<Project> projects) {
+    /**
+     * Gets how many of the students must be left without a project.
+     *
+     * @return The number of students minus the number of projects they share
+     */
+    public int deficiency() {
+        return students.size() - projects.size();
+    }
+}
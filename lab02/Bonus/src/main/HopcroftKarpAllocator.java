@@ -0,0 +1,263 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Allocates projects with the Hopcroft-Karp maximum bipartite matching algorithm.
+ * Students and projects are numbered and the preferences are stored as int arrays,
+ * so the search runs in O(E * sqrt(V)) for E preferences and V students plus projects.
+ * When not every student can be allocated, a Hall's theorem violating set is recorded.
+ */
+public class HopcroftKarpAllocator implements Allocator {
+    static final int FREE = -1;
+    private static final int UNREACHED = Integer.MAX_VALUE;
+
+    private HallViolation hallViolation;
+
+    /**
+     * Allocates projects to students, giving a project to as many students as possible.
+     *
+     * @param students The list of students to allocate projects to
+     * @return A mapping of the allocated students to their projects
+     */
+    @Override
+    public Map<Student, Project> allocateProjects(List<Student> students) {
+        Student[] studentArray = students.toArray(new Student[0]);
+        int studentCount = studentArray.length;
+
+        // Number the projects in the order they are first preferred
+        Map<Project, Integer> projectIndex = new HashMap<>();
+        List<Project> projects = new ArrayList<>();
+        int edgeCount = 0;
+        for (Student student : studentArray) {
+            edgeCount += student.getProjects().size();
+        }
+        int[] offsets = new int[studentCount + 1];
+        int[] targets = new int[edgeCount];
+        int position = 0;
+        for (int i = 0; i < studentCount; i++) {
+            offsets[i] = position;
+            for (Project project : studentArray[i].getProjects()) {
+                if (project == null) {
+                    continue;
+                }
+                Integer index = projectIndex.get(project);
+                if (index == null) {
+                    index = projects.size();
+                    projectIndex.put(project, index);
+                    projects.add(project);
+                }
+                targets[position++] = index;
+            }
+        }
+        offsets[studentCount] = position;
+
+        int[] studentMatch = new int[studentCount];
+        int[] projectMatch = new int[projects.size()];
+        Arrays.fill(studentMatch, FREE);
+        Arrays.fill(projectMatch, FREE);
+        int matched = maximumMatching(offsets, targets, studentMatch, projectMatch);
+
+        Map<Student, Project> allocation = new HashMap<>(Math.max(16, (int) (matched / 0.75f) + 1));
+        for (int i = 0; i < studentCount; i++) {
+            if (studentMatch[i] != FREE) {
+                allocation.put(studentArray[i], projects.get(studentMatch[i]));
+            }
+        }
+
+        hallViolation = null;
+        if (matched < studentCount) {
+            hallViolation = hallViolation(offsets, targets, studentMatch, projectMatch, s -> studentArray[s], projects::get);
+        }
+        return allocation;
+    }
+
+    /**
+     * Allocates projects on a columnar instance, working on its arrays directly.
+     * Student and project objects are only created for a Hall violation, if there is one.
+     *
+     * @param instance The instance to allocate
+     * @return The project id of every student, or AllocationInstance.NONE for unallocated students
+     */
+    public int[] allocate(AllocationInstance instance) {
+        int[] offsets = instance.preferenceOffsets();
+        int[] targets = instance.preferenceTargets();
+        int[] studentMatch = new int[instance.getStudentCount()];
+        int[] projectMatch = new int[instance.getProjectCount()];
+        Arrays.fill(studentMatch, FREE);
+        Arrays.fill(projectMatch, FREE);
+        int matched = maximumMatching(offsets, targets, studentMatch, projectMatch);
+
+        hallViolation = null;
+        if (matched < studentMatch.length) {
+            hallViolation = hallViolation(offsets, targets, studentMatch, projectMatch, instance::toStudent, instance::toProject);
+        }
+        return studentMatch;
+    }
+
+    /**
+     * Gets the Hall's theorem violating set found by the last allocation.
+     *
+     * @return The violating set, or null if every student was allocated a project
+     */
+    public HallViolation getHallViolation() {
+        return hallViolation;
+    }
+
+    /**
+     * Extends the given matching to a maximum one. The preferences of student i are
+     * targets[offsets[i]] to targets[offsets[i + 1] - 1]; unmatched entries hold FREE.
+     *
+     * @return The number of matched students
+     */
+    static int maximumMatching(int[] offsets, int[] targets, int[] studentMatch, int[] projectMatch) {
+        int studentCount = studentMatch.length;
+        int matched = 0;
+
+        // A greedy pass settles most students before the first phase
+        for (int s = 0; s < studentCount; s++) {
+            if (studentMatch[s] == FREE) {
+                for (int e = offsets[s]; e < offsets[s + 1]; e++) {
+                    if (projectMatch[targets[e]] == FREE) {
+                        studentMatch[s] = targets[e];
+                        projectMatch[targets[e]] = s;
+                        break;
+                    }
+                }
+            }
+            if (studentMatch[s] != FREE) {
+                matched++;
+            }
+        }
+
+        int[] distance = new int[studentCount];
+        int[] queue = new int[studentCount];
+        int[] next = new int[studentCount];
+        int[] stack = new int[studentCount];
+        while (matched < studentCount && layer(offsets, targets, studentMatch, projectMatch, distance, queue)) {
+            for (int s = 0; s < studentCount; s++) {
+                next[s] = offsets[s];
+            }
+            for (int s = 0; s < studentCount; s++) {
+                if (studentMatch[s] == FREE && augment(s, offsets, targets, studentMatch, projectMatch, distance, next, stack)) {
+                    matched++;
+                }
+            }
+        }
+        return matched;
+    }
+
+    // Breadth-first layering from the free students, stopping at the first layer that reaches a free project
+    private static boolean layer(int[] offsets, int[] targets, int[] studentMatch, int[] projectMatch,
+                                 int[] distance, int[] queue) {
+        int head = 0;
+        int tail = 0;
+        for (int s = 0; s < studentMatch.length; s++) {
+            if (studentMatch[s] == FREE) {
+                distance[s] = 0;
+                queue[tail++] = s;
+            } else {
+                distance[s] = UNREACHED;
+            }
+        }
+        int limit = UNREACHED;
+        while (head < tail) {
+            int s = queue[head++];
+            if (distance[s] >= limit) {
+                break;
+            }
+            for (int e = offsets[s]; e < offsets[s + 1]; e++) {
+                int owner = projectMatch[targets[e]];
+                if (owner == FREE) {
+                    limit = distance[s] + 1;
+                } else if (distance[owner] == UNREACHED) {
+                    distance[owner] = distance[s] + 1;
+                    queue[tail++] = owner;
+                }
+            }
+        }
+        return limit != UNREACHED;
+    }
+
+    // Iterative depth-first search for a shortest augmenting path from a free student along the layers
+    private static boolean augment(int start, int[] offsets, int[] targets, int[] studentMatch, int[] projectMatch,
+                                   int[] distance, int[] next, int[] stack) {
+        int top = 0;
+        stack[top++] = start;
+        while (top > 0) {
+            int s = stack[top - 1];
+            if (next[s] == offsets[s + 1]) {
+                // Dead end, nothing will get through this student again in this phase
+                distance[s] = UNREACHED;
+                top--;
+                continue;
+            }
+            int project = targets[next[s]++];
+            int owner = projectMatch[project];
+            if (owner == FREE) {
+                // Flip the path: every student on the stack takes the project it was explored through
+                for (int i = top - 1; i >= 0; i--) {
+                    int student = stack[i];
+                    int taken = targets[next[student] - 1];
+                    studentMatch[student] = taken;
+                    projectMatch[taken] = student;
+                }
+                return true;
+            }
+            if (distance[owner] == distance[s] + 1) {
+                stack[top++] = owner;
+            }
+        }
+        return false;
+    }
+
+    // The students reachable from free students by alternating paths prefer only projects
+    // held by other students of the set, so the set has more students than projects.
+    private static HallViolation hallViolation(int[] offsets, int[] targets, int[] studentMatch, int[] projectMatch,
+                                               IntFunction<Student> studentOf, IntFunction<Project> projectOf) {
+        boolean[] studentSeen = new boolean[studentMatch.length];
+        boolean[] projectSeen = new boolean[projectMatch.length];
+        int[] queue = new int[studentMatch.length];
+        int head = 0;
+        int tail = 0;
+        for (int s = 0; s < studentMatch.length; s++) {
+            if (studentMatch[s] == FREE) {
+                studentSeen[s] = true;
+                queue[tail++] = s;
+            }
+        }
+        while (head < tail) {
+            int s = queue[head++];
+            for (int e = offsets[s]; e < offsets[s + 1]; e++) {
+                int project = targets[e];
+                if (!projectSeen[project]) {
+                    projectSeen[project] = true;
+                    int owner = projectMatch[project];
+                    if (!studentSeen[owner]) {
+                        studentSeen[owner] = true;
+                        queue[tail++] = owner;
+                    }
+                }
+            }
+        }
+
+        List<Student> violatingStudents = new ArrayList<>();
+        for (int s = 0; s < studentSeen.length; s++) {
+            if (studentSeen[s]) {
+                violatingStudents.add(studentOf.apply(s));
+            }
+        }
+        List<Project> sharedProjects = new ArrayList<>();
+        for (int p = 0; p < projectSeen.length; p++) {
+            if (projectSeen[p]) {
+                sharedProjects.add(projectOf.apply(p));
+            }
+        }
+        return new HallViolation(violatingStudents, sharedProjects);
+    }
+}
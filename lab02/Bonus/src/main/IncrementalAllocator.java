@@ -0,0 +1,603 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps a maximum allocation up to date while students, projects and preferences change.
+ * The first allocation is computed with Hopcroft-Karp; after that every change only frees or
+ * adds a single vertex, and by Berge's theorem any augmenting path must then end at that vertex,
+ * so one search for such a path restores a maximum allocation.
+ * Proving that no path exists means exploring everything the vertex reaches, so the search from
+ * the vertex runs step by step alongside a search from all free vertices on the other side;
+ * whichever finds a path or runs out first decides, and the cost is at most twice the smaller one.
+ * Visited marks are stamped with a search counter, so a search never clears anything it did not touch.
+ * Ids of removed students are handed out again, so the arrays stay as large as the most students
+ * present at once however many come and go.
+ */
+public class IncrementalAllocator implements Allocator {
+    private static final int FREE = -1;
+    private static final int[] NO_PREFERENCES = new int[0];
+
+    private final Map<Student, Integer> studentIds = new HashMap<>();
+    private final Map<Project, Integer> projectIds = new HashMap<>();
+    private final List<Student> students = new ArrayList<>();
+    private final List<Project> projects = new ArrayList<>();
+
+    private int[][] preferences = new int[16][];
+    private int[] studentMatch = new int[16];
+
+    private boolean[] projectAlive = new boolean[16];
+    private int[] projectMatch = new int[16];
+    // Students listing each project; entries of removed students or changed lists are dropped when met
+    private int[][] interested = new int[16][];
+    private int[] interestedCount = new int[16];
+
+    // Unallocated students, and available projects nobody holds
+    private final IntSet freeStudents = new IntSet();
+    private final IntSet freeProjects = new IntSet();
+    // Ids of removed students, to be reused
+    private final IntSet unusedStudentIds = new IntSet();
+    // Marks students while an interested list is compacted
+    private int[] listed = new int[16];
+    private int compaction;
+
+    private final Search fromStudents = new Search(true);
+    private final Search fromProjects = new Search(false);
+    private final int[] single = new int[1];
+    private int search;
+    private int allocatedCount;
+
+    /**
+     * Discards the current state and allocates the given students from scratch.
+     *
+     * @param students The list of students to allocate projects to
+     * @return A mapping of the allocated students to their projects
+     */
+    @Override
+    public Map<Student, Project> allocateProjects(List<Student> students) {
+        clear();
+        for (Student student : students) {
+            if (student != null && !studentIds.containsKey(student)) {
+                register(student, student.getProjects());
+            }
+        }
+
+        int studentCount = this.students.size();
+        int projectCount = projects.size();
+        int[] offsets = new int[studentCount + 1];
+        for (int s = 0; s < studentCount; s++) {
+            offsets[s + 1] = offsets[s] + preferences[s].length;
+        }
+        int[] targets = new int[offsets[studentCount]];
+        for (int s = 0; s < studentCount; s++) {
+            System.arraycopy(preferences[s], 0, targets, offsets[s], preferences[s].length);
+        }
+        int[] initialStudents = new int[studentCount];
+        int[] initialProjects = new int[projectCount];
+        Arrays.fill(initialStudents, FREE);
+        Arrays.fill(initialProjects, FREE);
+        allocatedCount = HopcroftKarpAllocator.maximumMatching(offsets, targets, initialStudents, initialProjects);
+        System.arraycopy(initialStudents, 0, studentMatch, 0, studentCount);
+        System.arraycopy(initialProjects, 0, projectMatch, 0, projectCount);
+        for (int s = 0; s < studentCount; s++) {
+            if (studentMatch[s] != FREE) {
+                freeStudents.remove(s);
+            }
+        }
+        for (int p = 0; p < projectCount; p++) {
+            if (projectMatch[p] != FREE) {
+                freeProjects.remove(p);
+            }
+        }
+        return getAllocation();
+    }
+
+    /**
+     * Adds a student with their current preferences and allocates them a project if the allocation can grow.
+     *
+     * @param student The student to add
+     * @return true if the student was added, false if they were already present
+     */
+    public boolean addStudent(Student student) {
+        if (student == null || studentIds.containsKey(student)) {
+            return false;
+        }
+        repairFromStudent(register(student, student.getProjects()));
+        return true;
+    }
+
+    /**
+     * Removes a student, offering their project to the other students.
+     *
+     * @param student The student to remove
+     * @return true if the student was removed, false if they were not present
+     */
+    public boolean removeStudent(Student student) {
+        Integer id = student == null ? null : studentIds.remove(student);
+        if (id == null) {
+            return false;
+        }
+        release(id);
+        unusedStudentIds.add(id);
+        return true;
+    }
+
+    /**
+     * Makes a project available, or available again after it was removed.
+     *
+     * @param project The project to add
+     * @return true if the project became available, false if it already was
+     */
+    public boolean addProject(Project project) {
+        if (project == null) {
+            return false;
+        }
+        Integer id = projectIds.get(project);
+        if (id != null && projectAlive[id]) {
+            return false;
+        }
+        // A new project is registered as available
+        int p = id == null ? projectId(project) : id;
+        projectAlive[p] = true;
+        freeProjects.add(p);
+        repairFromProject(p);
+        return true;
+    }
+
+    /**
+     * Withdraws a project; its student, if any, is moved to another project when possible.
+     * Students keep the project in their preferences, so it can be added back later.
+     *
+     * @param project The project to remove
+     * @return true if the project was withdrawn, false if it was not available
+     */
+    public boolean removeProject(Project project) {
+        Integer id = project == null ? null : projectIds.get(project);
+        if (id == null || !projectAlive[id]) {
+            return false;
+        }
+        int p = id;
+        projectAlive[p] = false;
+        freeProjects.remove(p);
+        int s = projectMatch[p];
+        if (s != FREE) {
+            projectMatch[p] = FREE;
+            studentMatch[s] = FREE;
+            freeStudents.add(s);
+            allocatedCount--;
+            repairFromStudent(s);
+        }
+        return true;
+    }
+
+    /**
+     * Replaces a student's preferences and repairs the allocation. This is a removal followed by an
+     * addition under the same id, so it costs at most two searches, one for the freed project and
+     * one for the student.
+     *
+     * @param student The student whose preferences change
+     * @param projects The new list of preferred projects
+     * @return true if the student is present and was updated, false otherwise
+     */
+    public boolean changePreferences(Student student, List<Project> projects) {
+        Integer id = student == null ? null : studentIds.get(student);
+        if (id == null) {
+            return false;
+        }
+        int s = id;
+        release(s);
+        student.setPreferences(projects);
+        place(s, student, student.getProjects());
+        repairFromStudent(s);
+        return true;
+    }
+
+    /**
+     * Gets the project currently allocated to a student.
+     *
+     * @param student The student to look up
+     * @return The allocated project, or null if the student has none or is not present
+     */
+    public Project getProject(Student student) {
+        Integer id = student == null ? null : studentIds.get(student);
+        return id == null || studentMatch[id] == FREE ? null : projects.get(studentMatch[id]);
+    }
+
+    /**
+     * Gets the number of students that currently have a project.
+     *
+     * @return The size of the current allocation
+     */
+    public int getAllocatedCount() {
+        return allocatedCount;
+    }
+
+    /**
+     * Builds a snapshot of the current allocation.
+     *
+     * @return A mapping of the allocated students to their projects
+     */
+    public Map<Student, Project> getAllocation() {
+        Map<Student, Project> allocation = new HashMap<>();
+        for (int s = 0; s < students.size(); s++) {
+            if (students.get(s) != null && studentMatch[s] != FREE) {
+                allocation.put(students.get(s), projects.get(studentMatch[s]));
+            }
+        }
+        return allocation;
+    }
+
+    // The student s is free: look for a path from s, or from the free projects back to s
+    private void repairFromStudent(int s) {
+        single[0] = s;
+        fromStudents.begin(single, 1);
+        fromProjects.begin(freeProjects.items, freeProjects.size);
+        race(fromStudents, fromProjects);
+    }
+
+    // The project p is free: look for a path from p, or from the free students to p
+    private void repairFromProject(int p) {
+        single[0] = p;
+        fromProjects.begin(single, 1);
+        fromStudents.begin(freeStudents.items, freeStudents.size);
+        race(fromProjects, fromStudents);
+    }
+
+    private void race(Search first, Search second) {
+        while (true) {
+            int result = first.step();
+            if (result == Search.RUNNING) {
+                result = second.step();
+            }
+            if (result == Search.FOUND) {
+                allocatedCount++;
+                return;
+            }
+            if (result == Search.EXHAUSTED) {
+                return;
+            }
+        }
+    }
+
+    private void clear() {
+        studentIds.clear();
+        projectIds.clear();
+        students.clear();
+        projects.clear();
+        freeStudents.clear();
+        freeProjects.clear();
+        unusedStudentIds.clear();
+        allocatedCount = 0;
+    }
+
+    // Takes student s out of the allocation, offering their project to the others; the id stays reserved
+    private void release(int s) {
+        int p = studentMatch[s];
+        students.set(s, null);
+        preferences[s] = NO_PREFERENCES;
+        freeStudents.remove(s);
+        if (p != FREE) {
+            studentMatch[s] = FREE;
+            projectMatch[p] = FREE;
+            freeProjects.add(p);
+            allocatedCount--;
+            repairFromProject(p);
+        }
+    }
+
+    // Gives the student an unused id, or else the next one, and records their preferences
+    private int register(Student student, List<Project> preferred) {
+        int s;
+        if (unusedStudentIds.size > 0) {
+            s = unusedStudentIds.items[unusedStudentIds.size - 1];
+            unusedStudentIds.remove(s);
+        } else {
+            s = students.size();
+            if (s == preferences.length) {
+                int capacity = s * 2;
+                preferences = Arrays.copyOf(preferences, capacity);
+                studentMatch = Arrays.copyOf(studentMatch, capacity);
+            }
+            students.add(null);
+        }
+        place(s, student, preferred);
+        return s;
+    }
+
+    // Puts the student at id s as a free student, registering unknown projects as available
+    private void place(int s, Student student, List<Project> preferred) {
+        students.set(s, student);
+        studentIds.put(student, s);
+        studentMatch[s] = FREE;
+        freeStudents.add(s);
+
+        int[] list = new int[preferred.size()];
+        int length = 0;
+        for (Project project : preferred) {
+            if (project != null) {
+                list[length++] = projectId(project);
+            }
+        }
+        preferences[s] = length == list.length ? list : Arrays.copyOf(list, length);
+        for (int p : preferences[s]) {
+            addInterested(p, s);
+        }
+    }
+
+    private int projectId(Project project) {
+        Integer id = projectIds.get(project);
+        if (id != null) {
+            return id;
+        }
+        int p = projects.size();
+        if (p == projectAlive.length) {
+            int capacity = p * 2;
+            projectAlive = Arrays.copyOf(projectAlive, capacity);
+            projectMatch = Arrays.copyOf(projectMatch, capacity);
+            interested = Arrays.copyOf(interested, capacity);
+            interestedCount = Arrays.copyOf(interestedCount, capacity);
+        }
+        projects.add(project);
+        projectIds.put(project, p);
+        projectAlive[p] = true;
+        projectMatch[p] = FREE;
+        interested[p] = NO_PREFERENCES;
+        interestedCount[p] = 0;
+        freeProjects.add(p);
+        return p;
+    }
+
+    private void addInterested(int p, int s) {
+        if (interestedCount[p] == interested[p].length) {
+            compactInterested(p);
+            if (interestedCount[p] * 2 >= interested[p].length) {
+                interested[p] = Arrays.copyOf(interested[p], Math.max(4, interested[p].length * 2));
+            }
+        }
+        interested[p][interestedCount[p]++] = s;
+    }
+
+    // Drops entries of removed students, changed lists and repeats, which a reused id can leave
+    // behind. A full list is compacted first and only grows if at least half of it is live, so
+    // stale entries never pile up.
+    private void compactInterested(int p) {
+        if (listed.length < preferences.length) {
+            listed = Arrays.copyOf(listed, preferences.length);
+        }
+        compaction++;
+        int kept = 0;
+        for (int i = 0; i < interestedCount[p]; i++) {
+            int s = interested[p][i];
+            if (students.get(s) != null && listed[s] != compaction && prefers(s, p)) {
+                listed[s] = compaction;
+                interested[p][kept++] = s;
+            }
+        }
+        interestedCount[p] = kept;
+    }
+
+    private boolean prefers(int s, int p) {
+        for (int q : preferences[s]) {
+            if (q == p) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Breadth-first search for an augmenting path, advanced one edge per step so two of them can
+     * run side by side. Starting from students it follows preferences to a free project; starting
+     * from projects it follows interested students back to a free student. Start vertices are
+     * taken one at a time, whenever the queue runs dry.
+     */
+    private final class Search {
+        static final int RUNNING = 0;
+        static final int FOUND = 1;
+        static final int EXHAUSTED = 2;
+        private static final int NONE = -1;
+
+        private final boolean fromStudents;
+        private int[] seenStudent = new int[16];
+        private int[] seenProject = new int[16];
+        private int[] queue = new int[16];
+        // From students: the student who takes over each queued student's project.
+        // From projects: the project each queued project was reached from, and the student moving there.
+        private int[] parent = new int[16];
+        private int[] mover = new int[16];
+        private int stamp;
+        private int[] starts;
+        private int startCount;
+        private int nextStart;
+        private int head;
+        private int tail;
+        private int position;
+
+        Search(boolean fromStudents) {
+            this.fromStudents = fromStudents;
+        }
+
+        void begin(int[] starts, int startCount) {
+            int studentCapacity = preferences.length;
+            int projectCapacity = projectAlive.length;
+            if (seenStudent.length < studentCapacity) {
+                seenStudent = Arrays.copyOf(seenStudent, studentCapacity);
+            }
+            if (seenProject.length < projectCapacity) {
+                seenProject = Arrays.copyOf(seenProject, projectCapacity);
+            }
+            int queued = fromStudents ? studentCapacity : projectCapacity;
+            if (queue.length < queued) {
+                queue = new int[queued];
+                parent = new int[queued];
+                mover = new int[queued];
+            }
+            this.stamp = ++search;
+            this.starts = starts;
+            this.startCount = startCount;
+            this.nextStart = 0;
+            this.head = 0;
+            this.tail = 0;
+            this.position = 0;
+        }
+
+        int step() {
+            if (head == tail && !pushNextStart()) {
+                return EXHAUSTED;
+            }
+            return fromStudents ? stepFromStudent() : stepFromProject();
+        }
+
+        private boolean pushNextStart() {
+            int[] seen = fromStudents ? seenStudent : seenProject;
+            while (nextStart < startCount) {
+                int start = starts[nextStart++];
+                if (seen[start] != stamp) {
+                    seen[start] = stamp;
+                    parent[start] = NONE;
+                    queue[tail++] = start;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int stepFromStudent() {
+            int s = queue[head];
+            int[] list = preferences[s];
+            if (position == list.length) {
+                head++;
+                position = 0;
+                return RUNNING;
+            }
+            int p = list[position++];
+            if (!projectAlive[p] || seenProject[p] == stamp || studentMatch[s] == p) {
+                return RUNNING;
+            }
+            seenProject[p] = stamp;
+            int owner = projectMatch[p];
+            if (owner == FREE) {
+                // Each student on the path takes the project of the one after it, the last one takes p
+                int student = s;
+                int taken = p;
+                while (true) {
+                    int held = studentMatch[student];
+                    studentMatch[student] = taken;
+                    projectMatch[taken] = student;
+                    if (parent[student] == NONE) {
+                        break;
+                    }
+                    taken = held;
+                    student = parent[student];
+                }
+                freeStudents.remove(student);
+                freeProjects.remove(p);
+                return FOUND;
+            }
+            if (seenStudent[owner] != stamp) {
+                seenStudent[owner] = stamp;
+                parent[owner] = s;
+                queue[tail++] = owner;
+            }
+            return RUNNING;
+        }
+
+        private int stepFromProject() {
+            int p = queue[head];
+            if (position == interestedCount[p]) {
+                head++;
+                position = 0;
+                return RUNNING;
+            }
+            int index = position++;
+            int s = interested[p][index];
+            if (students.get(s) == null || !prefers(s, p)) {
+                // Stale entry: swap the last one into its place and look at this position again
+                interested[p][index] = interested[p][--interestedCount[p]];
+                position--;
+                return RUNNING;
+            }
+            if (seenStudent[s] == stamp || studentMatch[s] == p) {
+                return RUNNING;
+            }
+            seenStudent[s] = stamp;
+            int held = studentMatch[s];
+            if (held == FREE) {
+                // s takes p, and each student whose project was taken moves to the project it was reached from
+                int project = p;
+                int student = s;
+                while (true) {
+                    studentMatch[student] = project;
+                    projectMatch[project] = student;
+                    if (parent[project] == NONE) {
+                        break;
+                    }
+                    student = mover[project];
+                    project = parent[project];
+                }
+                freeProjects.remove(project);
+                freeStudents.remove(s);
+                return FOUND;
+            }
+            if (seenProject[held] != stamp) {
+                seenProject[held] = stamp;
+                parent[held] = p;
+                mover[held] = s;
+                queue[tail++] = held;
+            }
+            return RUNNING;
+        }
+    }
+
+    /**
+     * Set of small non-negative ints with O(1) add, remove and iteration over its dense item array.
+     */
+    private static final class IntSet {
+        private int[] items = new int[16];
+        private int[] index = new int[16];
+        private int size;
+
+        IntSet() {
+            Arrays.fill(index, -1);
+        }
+
+        void add(int value) {
+            if (value >= index.length) {
+                int capacity = Math.max(value + 1, index.length * 2);
+                int old = index.length;
+                index = Arrays.copyOf(index, capacity);
+                Arrays.fill(index, old, capacity, -1);
+            }
+            if (index[value] >= 0) {
+                return;
+            }
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            index[value] = size;
+            items[size++] = value;
+        }
+
+        void remove(int value) {
+            if (value >= index.length || index[value] < 0) {
+                return;
+            }
+            int at = index[value];
+            int last = items[--size];
+            items[at] = last;
+            index[last] = at;
+            index[value] = -1;
+        }
+
+        void clear() {
+            for (int i = 0; i < size; i++) {
+                index[items[i]] = -1;
+            }
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package main;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Generates random allocation instances: one teacher per 10 students, 1.2 projects per student
+ * and 2 to 4 distinct preferences per student.
+ * The random choices are drawn in parallel, in fixed-size chunks that each use their own generator
+ * derived from the seed, so the same seed always gives the same instance however many threads
+ * there are, both as objects and in columnar form. Only the registration is sequential.
+ */
+public final class InstanceGenerator {
+    private static final int CHUNK_SIZE = 4096;
+    private static final int MIN_PREFERENCES = 2;
+    private static final int MAX_PREFERENCES = 4;
+
+    // Every date of birth between 2000-01-01 and 2005-12-31, formatted once and shared
+    private static final String[] DATES = IntStream
+            .range((int) LocalDate.of(2000, 1, 1).toEpochDay(), (int) LocalDate.of(2005, 12, 31).toEpochDay())
+            .mapToObj(day -> LocalDate.ofEpochDay(day).toString())
+            .toArray(String[]::new);
+
+    private InstanceGenerator() {
+    }
+
+    /**
+     * Generates a random instance with the given number of students.
+     *
+     * @param size The number of students
+     * @param seed The seed the whole instance is derived from
+     * @return A ProjectManagement holding the generated teachers, projects and students
+     */
+    public static ProjectManagement generate(int size, long seed) {
+        Draws draws = draw(size, seed);
+
+        Teacher[] teachers = new Teacher[draws.teacherDates.length];
+        parallel(teachers.length, i -> teachers[i] = new Teacher(
+                "Teacher" + i, DATES[draws.teacherDates[i]], new String[]{"Specialization" + i}));
+
+        Project[] projects = new Project[draws.proposers.length];
+        parallel(projects.length, i -> projects[i] = new Project(
+                "Project" + i, "Description" + i, teachers[draws.proposers[i]]));
+
+        Student[] students = new Student[size];
+        parallel(size, i -> {
+            Student student = new Student("Student" + i, DATES[draws.studentDates[i]], registrationNumber(i));
+            Project[] preferred = new Project[draws.preferenceCounts[i]];
+            for (int j = 0; j < preferred.length; j++) {
+                preferred[j] = projects[draws.preferences[i * MAX_PREFERENCES + j]];
+            }
+            student.setPreferences(Arrays.asList(preferred));
+            students[i] = student;
+        });
+
+        ProjectManagement pm = new ProjectManagement();
+        for (Teacher teacher : teachers) {
+            pm.addTeacher(teacher);
+        }
+        for (Project project : projects) {
+            pm.addProject(project);
+        }
+        for (Student student : students) {
+            pm.addStudent(student);
+        }
+        return pm;
+    }
+
+    /**
+     * Generates the same instance as {@link #generate(int, long)} for the same seed, in columnar
+     * form, without creating any Student, Project or Teacher objects.
+     *
+     * @param size The number of students
+     * @param seed The seed the whole instance is derived from
+     * @return The generated instance
+     */
+    public static AllocationInstance generateColumnar(int size, long seed) {
+        Draws draws = draw(size, seed);
+        AllocationInstance instance = new AllocationInstance();
+        for (int i = 0; i < draws.teacherDates.length; i++) {
+            instance.addTeacher("Teacher" + i, DATES[draws.teacherDates[i]], "Specialization" + i);
+        }
+        for (int i = 0; i < draws.proposers.length; i++) {
+            instance.addProject("Project" + i, "Description" + i, draws.proposers[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            int from = i * MAX_PREFERENCES;
+            instance.addStudent("Student" + i, DATES[draws.studentDates[i]], registrationNumber(i),
+                    Arrays.copyOfRange(draws.preferences, from, from + draws.preferenceCounts[i]));
+        }
+        instance.trimToSize();
+        return instance;
+    }
+
+    // Every random choice of an instance: indexes into DATES, teacher ids and project ids
+    private record Draws(int[] teacherDates, int[] proposers, int[] studentDates,
+                         int[] preferenceCounts, int[] preferences) {
+    }
+
+    private static Draws draw(int size, long seed) {
+        int teacherCount = Math.max(1, size / 10);
+        int projectCount = Math.max(MAX_PREFERENCES, (int) (size * 1.2));
+
+        int[] teacherDates = new int[teacherCount];
+        fill(teacherCount, seed, 0, (i, random) -> teacherDates[i] = random.nextInt(DATES.length));
+
+        int[] proposers = new int[projectCount];
+        fill(projectCount, seed, 1, (i, random) -> proposers[i] = random.nextInt(teacherCount));
+
+        int[] studentDates = new int[size];
+        int[] preferenceCounts = new int[size];
+        int[] preferences = new int[size * MAX_PREFERENCES];
+        fill(size, seed, 2, (i, random) -> {
+            studentDates[i] = random.nextInt(DATES.length);
+            preferenceCounts[i] = randomPreferences(projectCount, random, preferences, i * MAX_PREFERENCES);
+        });
+        return new Draws(teacherDates, proposers, studentDates, preferenceCounts, preferences);
+    }
+
+    private interface Filler {
+        void fill(int index, SplittableRandom random);
+    }
+
+    // Runs the filler on 0..count-1, one chunk per task, each chunk with a generator that only depends on the seed
+    private static void fill(int count, long seed, int stream, Filler filler) {
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            SplittableRandom random = new SplittableRandom(seed * 31 + (long) stream * 1_000_003 + chunk);
+            int end = Math.min(count, (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                filler.fill(i, random);
+            }
+        });
+    }
+
+    private static void parallel(int count, IntConsumer action) {
+        IntStream.range(0, count).parallel().forEach(action);
+    }
+
+    // Draws distinct project ids into target[from..]; the lists are short, so checking the ones already drawn is enough
+    private static int randomPreferences(int projectCount, SplittableRandom random, int[] target, int from) {
+        int count = random.nextInt(MIN_PREFERENCES, MAX_PREFERENCES + 1);
+        for (int j = 0; j < count; j++) {
+            int candidate;
+            boolean duplicate;
+            do {
+                candidate = random.nextInt(projectCount);
+                duplicate = false;
+                for (int k = 0; k < j && !duplicate; k++) {
+                    duplicate = target[from + k] == candidate;
+                }
+            } while (duplicate);
+            target[from + j] = candidate;
+        }
+        return count;
+    }
+
+    // S0000, S0001, ..., the same numbers String.format("S%04d", i) gives
+    private static String registrationNumber(int i) {
+        String digits = Integer.toString(i);
+        return digits.length() >= 4 ? "S" + digits : "S" + "0000".substring(digits.length()) + digits;
+    }
+}
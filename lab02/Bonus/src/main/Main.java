@@ -1,104 +1,53 @@
 package main;
 
 import java.util.*;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.concurrent.ThreadLocalRandom;
 
 public class Main {
+    // The greedy allocator's second pass is roughly cubic, so it is only run up to this size
+    private static final int GREEDY_SIZE_LIMIT = 5000;
+    private static final long SEED = 20250310L;
+
+    // Timings are left to the JMH suite in lab02/Benchmark; this only shows what each allocator produces
     public static void main(String[] args) {
         // Test cases with different sizes
-        int[] testSizes = {100, 500, 1000, 5000};
+        int[] testSizes = {100, 500, 1000, 5000, 100_000, 1_000_000};
 
         for (int size : testSizes) {
             System.out.println("\nTesting with size: " + size);
 
-            // Generate random test data
-            ProjectManagement pm = generateRandomInstance(size);
-            List<Student> students = Arrays.asList(pm.getStudents());
-
-            // Measure memory before allocation
-            long beforeMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
-
-            // Measure time
-            ProjectAllocator allocator = new ProjectAllocator();
-            long startTime = System.nanoTime();
-            Map<Student, Project> allocation = allocator.allocateProjects(students);
-            long endTime = System.nanoTime();
-
-            // Measure memory after allocation
-            long afterMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
-
-            // Calculate statistics
-            int allocatedStudents = (int) allocation.values().stream().filter(Objects::nonNull).count();
-            double successRate = (double) allocatedStudents / size * 100;
-
-            // Print results
-            System.out.printf("Execution time: %.2f ms%n", (endTime - startTime) / 1_000_000.0);
-            System.out.printf("Memory used: %.2f MB%n", (afterMemory - beforeMemory) / (1024.0 * 1024.0));
-            System.out.printf("Students allocated: %d/%d (%.2f%%)%n", allocatedStudents, size, successRate);
-        }
-    }
-
-    private static ProjectManagement generateRandomInstance(int size) {
-        ProjectManagement pm = new ProjectManagement();
-
-        // Generate teachers (1 teacher per 10 students)
-        int teacherCount = Math.max(1, size / 10);
-        Teacher[] teachers = new Teacher[teacherCount];
-        for (int i = 0; i < teacherCount; i++) {
-            teachers[i] = new Teacher(
-                    "Teacher" + i,
-                    generateRandomDate(),
-                    new String[]{"Specialization" + i}
-            );
-            pm.addTeacher(teachers[i]);
-        }
-
-        // Generate projects (1.2 times the number of students)
-        int projectCount = (int)(size * 1.2);
-        Project[] projects = new Project[projectCount];
-        for (int i = 0; i < projectCount; i++) {
-            Teacher randomTeacher = teachers[ThreadLocalRandom.current().nextInt(teacherCount)];
-            projects[i] = new Project(
-                    "Project" + i,
-                    "Description" + i,
-                    randomTeacher
-            );
-            pm.addProject(projects[i]);
-        }
-
-        // Generate students with random preferences
-        for (int i = 0; i < size; i++) {
-            Student student = new Student(
-                    "Student" + i,
-                    generateRandomDate(),
-                    "S" + String.format("%04d", i)
-            );
-
-            // Assign 2-4 random project preferences
-            int prefCount = ThreadLocalRandom.current().nextInt(2, 5);
-            List<Project> prefs = new ArrayList<>();
-            for (int j = 0; j < prefCount; j++) {
-                Project randomProject;
-                do {
-                    randomProject = projects[ThreadLocalRandom.current().nextInt(projectCount)];
-                } while (prefs.contains(randomProject));
-                prefs.add(randomProject);
+            ProjectManagement pm = InstanceGenerator.generate(size, SEED);
+            List<Student> students = pm.getStudents();
+
+            List<Allocator> allocators = size <= GREEDY_SIZE_LIMIT
+                    ? List.of(new ProjectAllocator(), new HopcroftKarpAllocator(), stableAllocator(),
+                            new MinCostFlowAllocator())
+                    : List.of(new HopcroftKarpAllocator(), stableAllocator(), new MinCostFlowAllocator());
+            for (Allocator allocator : allocators) {
+                System.out.println(allocator.getClass().getSimpleName() + ":");
+
+                Map<Student, Project> allocation = allocator.allocateProjects(students);
+                int allocatedStudents = (int) allocation.values().stream().filter(Objects::nonNull).count();
+                double successRate = (double) allocatedStudents / size * 100;
+                System.out.printf("Students allocated: %d/%d (%.2f%%)%n", allocatedStudents, size, successRate);
+
+                // A maximum allocation that misses students comes with the set proving it
+                if (allocator instanceof HopcroftKarpAllocator matching && matching.getHallViolation() != null) {
+                    HallViolation violation = matching.getHallViolation();
+                    System.out.printf("Hall violation: %d students prefer only %d projects%n",
+                            violation.students().size(), violation.projects().size());
+                }
+                if (allocator instanceof StableMatchingAllocator stable) {
+                    System.out.printf("Blocking pairs: %d%n", stable.findBlockingPairs().size());
+                }
+                if (allocator instanceof MinCostFlowAllocator minCost) {
+                    System.out.printf("Average rank: %.3f%n", minCost.getAverageRank());
+                }
             }
-            student.setPreferences(prefs);
-            pm.addStudent(student);
         }
-
-        return pm;
     }
 
-    private static String generateRandomDate() {
-        LocalDate start = LocalDate.of(2000, 1, 1);
-        LocalDate end = LocalDate.of(2005, 12, 31);
-        long startEpochDay = start.toEpochDay();
-        long endEpochDay = end.toEpochDay();
-        long randomDay = ThreadLocalRandom.current().nextLong(startEpochDay, endEpochDay);
-        return LocalDate.ofEpochDay(randomDay).format(DateTimeFormatter.ISO_DATE);
+    // One student per project, and each teacher supervising as many students as there are per teacher
+    private static StableMatchingAllocator stableAllocator() {
+        return new StableMatchingAllocator(project -> 1, teacher -> 10);
     }
-}
\ No newline at end of file
+}
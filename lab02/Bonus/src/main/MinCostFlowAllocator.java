@@ -0,0 +1,349 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Allocates projects so that as many students as possible get one and, among all such
+ * allocations, the sum of the ranks of the allocated projects in the students' preference
+ * lists is minimal.
+ * This is a min-cost max-flow from students to projects, solved by successive shortest paths
+ * with vertex potentials: each phase runs Dijkstra on the reduced costs, stopping once the sink
+ * is settled, and then augments along a maximal set of disjoint shortest paths, the way
+ * Hopcroft-Karp does for plain matching. The flow network is never built; the residual edges
+ * are read off the preference arrays and the current matching.
+ */
+public class MinCostFlowAllocator implements Allocator {
+    private static final int FREE = -1;
+    private static final int UNREACHED = Integer.MAX_VALUE;
+
+    private double averageRank;
+    private long solveTimeNanos;
+    private int phases;
+
+    /**
+     * Allocates projects to students, maximising the number of allocated students first
+     * and their preference satisfaction second.
+     *
+     * @param students The list of students to allocate projects to
+     * @return A mapping of the allocated students to their projects
+     */
+    @Override
+    public Map<Student, Project> allocateProjects(List<Student> students) {
+        Student[] studentArray = students.toArray(new Student[0]);
+        int studentCount = studentArray.length;
+
+        // Number the projects in the order they are first preferred
+        Map<Project, Integer> projectIndex = new HashMap<>();
+        List<Project> projects = new ArrayList<>();
+        int edgeCount = 0;
+        for (Student student : studentArray) {
+            edgeCount += student.getProjects().size();
+        }
+        int[] offsets = new int[studentCount + 1];
+        int[] targets = new int[edgeCount];
+        int position = 0;
+        for (int i = 0; i < studentCount; i++) {
+            offsets[i] = position;
+            for (Project project : studentArray[i].getProjects()) {
+                if (project == null) {
+                    continue;
+                }
+                Integer index = projectIndex.get(project);
+                if (index == null) {
+                    index = projects.size();
+                    projectIndex.put(project, index);
+                    projects.add(project);
+                }
+                targets[position++] = index;
+            }
+        }
+        offsets[studentCount] = position;
+
+        int[] studentMatch = solve(offsets, targets, studentCount, projects.size());
+        Map<Student, Project> allocation = new HashMap<>();
+        for (int i = 0; i < studentCount; i++) {
+            if (studentMatch[i] != FREE) {
+                allocation.put(studentArray[i], projects.get(studentMatch[i]));
+            }
+        }
+        return allocation;
+    }
+
+    /**
+     * Allocates projects on a columnar instance, working on its arrays directly.
+     *
+     * @param instance The instance to allocate
+     * @return The project id of every student, or AllocationInstance.NONE for unallocated students
+     */
+    public int[] allocate(AllocationInstance instance) {
+        return solve(instance.preferenceOffsets(), instance.preferenceTargets(),
+                instance.getStudentCount(), instance.getProjectCount());
+    }
+
+    /**
+     * Gets the average position of the allocated project in its student's preference list,
+     * 1 being the first preference.
+     *
+     * @return The average rank over the students allocated by the last run, or 0 if there were none
+     */
+    public double getAverageRank() {
+        return averageRank;
+    }
+
+    /**
+     * Gets the time the last run spent solving the flow problem, excluding indexing the input.
+     *
+     * @return The solve time in nanoseconds
+     */
+    public long getSolveTimeNanos() {
+        return solveTimeNanos;
+    }
+
+    /**
+     * Gets the number of shortest path phases the last run needed.
+     *
+     * @return The number of phases
+     */
+    public int getPhases() {
+        return phases;
+    }
+
+    // Solves and records the statistics of the run. Returns the project of every student.
+    private int[] solve(int[] offsets, int[] targets, int studentCount, int projectCount) {
+        long start = System.nanoTime();
+        int[] studentMatch = new int[studentCount];
+        int[] projectMatch = new int[projectCount];
+        Arrays.fill(studentMatch, FREE);
+        Arrays.fill(projectMatch, FREE);
+        long rankSum = solve(offsets, targets, studentMatch, projectMatch);
+        solveTimeNanos = System.nanoTime() - start;
+
+        int allocated = 0;
+        for (int p : studentMatch) {
+            if (p != FREE) {
+                allocated++;
+            }
+        }
+        // Ranks are reported from 1, the first preference
+        averageRank = allocated == 0 ? 0 : (double) (rankSum + allocated) / allocated;
+        return studentMatch;
+    }
+
+    // Vertices are the students 0..S-1, the projects S..S+P-1 and the sink S+P. The cost of a
+    // preference edge is its position in the student's list, so it is never stored.
+    // Returns the sum of the ranks of the final matching.
+    private long solve(int[] offsets, int[] targets, int[] studentMatch, int[] projectMatch) {
+        int studentCount = studentMatch.length;
+        int projectCount = projectMatch.length;
+        int sink = studentCount + projectCount;
+        int[] potential = new int[sink + 1];
+        int[] distance = new int[sink + 1];
+        int[] matchRank = new int[studentCount];
+        int[] next = new int[studentCount];
+        int[] stack = new int[studentCount];
+        int[] visited = new int[projectCount];
+        LongHeap heap = new LongHeap();
+        int round = 0;
+        phases = 0;
+
+        while (true) {
+            int limit = shortestPaths(offsets, targets, studentMatch, projectMatch, matchRank, potential, distance, heap);
+            if (limit == UNREACHED) {
+                break;
+            }
+            phases++;
+            // Vertices beyond the sink's distance are capped, which keeps every reduced cost non-negative
+            for (int v = 0; v <= sink; v++) {
+                potential[v] += Math.min(distance[v], limit);
+            }
+
+            // Augment along edges of zero reduced cost, which are exactly the shortest paths. Augmenting keeps
+            // those edges at zero, so rounds are repeated until one finds nothing before Dijkstra runs again.
+            int augmented;
+            do {
+                round++;
+                augmented = 0;
+                for (int s = 0; s < studentCount; s++) {
+                    next[s] = offsets[s];
+                }
+                for (int s = 0; s < studentCount; s++) {
+                    if (studentMatch[s] == FREE && augment(s, offsets, targets, studentMatch, projectMatch, matchRank,
+                            potential, next, stack, visited, round)) {
+                        augmented++;
+                    }
+                }
+            } while (augmented > 0);
+        }
+
+        long rankSum = 0;
+        for (int s = 0; s < studentCount; s++) {
+            if (studentMatch[s] != FREE) {
+                rankSum += matchRank[s];
+            }
+        }
+        return rankSum;
+    }
+
+    // Dijkstra from every free student on reduced costs, stopped as soon as nothing left in the heap can
+    // beat the sink. Returns the sink's distance, or UNREACHED when no augmenting path is left.
+    private static int shortestPaths(int[] offsets, int[] targets, int[] studentMatch, int[] projectMatch,
+                                     int[] matchRank, int[] potential, int[] distance, LongHeap heap) {
+        int studentCount = studentMatch.length;
+        int sink = distance.length - 1;
+        Arrays.fill(distance, UNREACHED);
+        heap.clear();
+        for (int s = 0; s < studentCount; s++) {
+            if (studentMatch[s] == FREE) {
+                distance[s] = 0;
+                heap.push(0, s);
+            }
+        }
+
+        while (!heap.isEmpty()) {
+            long top = heap.pop();
+            int d = (int) (top >>> 32);
+            int v = (int) top;
+            if (d >= distance[sink]) {
+                break;
+            }
+            if (d > distance[v]) {
+                continue;
+            }
+            if (v < studentCount) {
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int p = targets[e];
+                    if (studentMatch[v] == p) {
+                        continue;
+                    }
+                    int project = studentCount + p;
+                    int reached = d + (e - offsets[v]) + potential[v] - potential[project];
+                    if (relax(project, reached, distance, heap) && projectMatch[p] == FREE) {
+                        // A free project's only edge leads to the sink, so it is followed right away
+                        relax(sink, reached + potential[project] - potential[sink], distance, null);
+                    }
+                }
+            } else {
+                int owner = projectMatch[v - studentCount];
+                if (owner != FREE) {
+                    relax(owner, d - matchRank[owner] + potential[v] - potential[owner], distance, heap);
+                }
+            }
+        }
+        return distance[sink];
+    }
+
+    // Lowers the distance of v if d improves it and could still lead to something shorter than the sink's
+    private static boolean relax(int v, int d, int[] distance, LongHeap heap) {
+        if (d >= distance[v] || d >= distance[distance.length - 1]) {
+            return false;
+        }
+        distance[v] = d;
+        if (heap != null) {
+            heap.push(d, v);
+        }
+        return true;
+    }
+
+    // Depth-first search from a free student along zero reduced cost edges, using each project at most once per phase
+    private static boolean augment(int start, int[] offsets, int[] targets, int[] studentMatch, int[] projectMatch,
+                                   int[] matchRank, int[] potential, int[] next, int[] stack, int[] visited,
+                                   int phase) {
+        int studentCount = studentMatch.length;
+        int sink = potential.length - 1;
+        int top = 0;
+        stack[top++] = start;
+        while (top > 0) {
+            int s = stack[top - 1];
+            if (next[s] == offsets[s + 1]) {
+                top--;
+                continue;
+            }
+            int e = next[s]++;
+            int p = targets[e];
+            int project = studentCount + p;
+            if (visited[p] == phase || studentMatch[s] == p
+                    || (e - offsets[s]) + potential[s] - potential[project] != 0) {
+                continue;
+            }
+            visited[p] = phase;
+            int owner = projectMatch[p];
+            if (owner == FREE) {
+                if (potential[project] != potential[sink]) {
+                    continue;
+                }
+                // Every student on the stack takes the project it was explored through
+                for (int i = top - 1; i >= 0; i--) {
+                    int student = stack[i];
+                    int edge = next[student] - 1;
+                    int taken = targets[edge];
+                    studentMatch[student] = taken;
+                    matchRank[student] = edge - offsets[student];
+                    projectMatch[taken] = student;
+                }
+                return true;
+            }
+            if (potential[project] - matchRank[owner] - potential[owner] == 0) {
+                stack[top++] = owner;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Binary min-heap of (distance, vertex) pairs packed into longs, the distance in the high half.
+     * Entries are never updated in place; stale ones are skipped when popped.
+     */
+    private static final class LongHeap {
+        private long[] items = new long[1024];
+        private int size;
+
+        void clear() {
+            size = 0;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(int distance, int vertex) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            long item = ((long) distance << 32) | vertex;
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (items[parent] <= item) {
+                    break;
+                }
+                items[i] = items[parent];
+                i = parent;
+            }
+            items[i] = item;
+        }
+
+        long pop() {
+            long result = items[0];
+            long last = items[--size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && items[child + 1] < items[child]) {
+                    child++;
+                }
+                if (items[child] >= last) {
+                    break;
+                }
+                items[i] = items[child];
+                i = child;
+            }
+            items[i] = last;
+            return result;
+        }
+    }
+}
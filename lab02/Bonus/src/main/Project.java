@@ -11,6 +11,7 @@ public class Project extends ProjectManagement {
     private final String name;
     private final String description;
     private final Teacher proposer;
+    private int hash;
 
     /**
      * Constructs a new Project with the specified name, description, and proposing teacher.
@@ -49,13 +50,17 @@ public class Project extends ProjectManagement {
     }
 
     /**
-     * Generates a hash code for this project.
+     * Generates a hash code for this project from the same fields {@link #equals(Object)} compares.
+     * The fields are final, so the value is computed once and cached.
      *
      * @return A hash code value
      */
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), name, description, proposer);
+        if (hash == 0) {
+            hash = Objects.hash(name, description, proposer);
+        }
+        return hash;
     }
 
     /**
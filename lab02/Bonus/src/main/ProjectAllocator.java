@@ -2,13 +2,14 @@ package main;
 
 import java.util.*;
 
-public class ProjectAllocator {
+public class ProjectAllocator implements Allocator {
     /**
      * Allocates projects to students using a greedy two-pass algorithm.
      *
      * @param students The list of students to allocate projects to
      * @return A mapping of students to their allocated projects
      */
+    @Override
     public Map<Student, Project> allocateProjects(List<Student> students) {
         Map<Student, Project> allocation = new HashMap<>();
         Set<Project> assignedProjects = new HashSet<>();
@@ -1,32 +1,33 @@
 package main;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * Manages collections of students, teachers, and projects
  * Provides methods for adding and retrieving entities while preventing duplicates
+ * Every entity gets a dense int id in the order it was added and is indexed by its key:
+ * students by registration number, teachers and projects by name.
  */
 public class ProjectManagement {
-    private Student[] students;
-    private Teacher[] teachers;
-    private Project[] projects;
-
-    private int studentNumber = 0;
-    private int teacherNumber = 0;
-    private int projectNumber = 0;
+    private Registry<Student> students;
+    private Registry<Teacher> teachers;
+    private Registry<Project> projects;
 
     /**
      * Constructs a new ProjectManagement instance
+     * The registries are created on first use, since every Project and Solution is also a ProjectManagement.
      */
     public ProjectManagement() {
-        this.students = new Student[10];
-        this.teachers = new Teacher[10];
-        this.projects = new Project[10];
     }
 
     /**
-     * Adds a student to the management system if not already present
+     * Adds a student to the management system if no student with the same registration number is present
      *
      * @param student The student to be added
      * @return true if the student was successfully added, false otherwise
@@ -34,22 +35,14 @@ public class ProjectManagement {
     public boolean addStudent(Student student) {
         if(student == null) return false;
 
-        // Check if student already exists
-        if(Arrays.stream(students, 0, studentNumber).anyMatch(s -> s != null && s.equals(student))) {
-            return false;
-        }
-
-        // Expand array if needed
-        if(studentNumber >= students.length) {
-            students = Arrays.copyOf(students, students.length * 2);
+        if(students == null) {
+            students = new Registry<>(Student::getRegistrationNumber);
         }
-
-        students[studentNumber++] = student;
-        return true;
+        return students.add(student);
     }
 
     /**
-     * Adds a teacher to the management system if not already present.
+     * Adds a teacher to the management system if no teacher with the same name is present.
      *
      * @param teacher The teacher to be added
      * @return true if the teacher was successfully added, false otherwise
@@ -57,62 +50,111 @@ public class ProjectManagement {
     public boolean addTeacher(Teacher teacher) {
         if(teacher == null) return false;
 
-        if(Arrays.stream(teachers, 0, teacherNumber).anyMatch(t -> t != null && t.equals(teacher))) {
-            return false;
-        }
-        if(teacherNumber >= teachers.length) {
-            teachers = Arrays.copyOf(teachers, teachers.length * 2);
+        if(teachers == null) {
+            teachers = new Registry<>(Teacher::getName);
         }
-
-        teachers[teacherNumber++] = teacher;
-        return true;
+        return teachers.add(teacher);
     }
 
     /**
-     * Adds a project to the management system if not already present.
+     * Adds a project to the management system if no project with the same name is present.
      *
      * @param project The project to be added
      */
     public void addProject(Project project) {
         if(project == null) return;
 
-        if(Arrays.stream(projects, 0, projectNumber).anyMatch(p -> p != null && p.equals(project))) {
-            return;
+        if(projects == null) {
+            projects = new Registry<>(Project::getName);
         }
+        projects.add(project);
+    }
 
+    /**
+     * Returns a read-only view of all students in the system, in the order they were added.
+     *
+     * @return List of students, indexed by student id
+     */
+    public List<Student> getStudents() {
+        return students == null ? List.of() : students.view;
+    }
 
-        if(projectNumber >= projects.length) {
-            projects = Arrays.copyOf(projects, projects.length * 2);
-        }
+    /**
+     * Returns a read-only view of all teachers in the system, in the order they were added.
+     *
+     * @return List of teachers, indexed by teacher id
+     */
+    public List<Teacher> getTeachers() {
+        return teachers == null ? List.of() : teachers.view;
+    }
 
-        projects[projectNumber++] = project;
+    /**
+     * Returns a read-only view of all projects in the system, in the order they were added.
+     *
+     * @return List of projects, indexed by project id
+     */
+    public List<Project> getProjects() {
+        return projects == null ? List.of() : projects.view;
     }
 
     /**
-     * Returns an array containing all students in the system.
+     * Finds a student by registration number.
      *
-     * @return Array of students without null elements
+     * @param registrationNumber The registration number to look up
+     * @return The student, or null if there is none
      */
-    public Student[] getStudents() {
-        return Arrays.copyOf(students, studentNumber);
+    public Student getStudent(String registrationNumber) {
+        return students == null ? null : students.get(registrationNumber);
     }
 
     /**
-     * Returns an array containing all teachers in the system.
+     * Finds a teacher by name.
      *
-     * @return Array of teachers without null elements
+     * @param name The name to look up
+     * @return The teacher, or null if there is none
      */
-    public Teacher[] getTeachers() {
-        return Arrays.copyOf(teachers, teacherNumber);
+    public Teacher getTeacher(String name) {
+        return teachers == null ? null : teachers.get(name);
     }
 
     /**
-     * Returns an array containing all projects in the system.
+     * Finds a project by name.
      *
-     * @return Array of projects without null elements
+     * @param name The name to look up
+     * @return The project, or null if there is none
      */
-    public Project[] getProjects() {
-        return Arrays.copyOf(projects, projectNumber);
+    public Project getProject(String name) {
+        return projects == null ? null : projects.get(name);
+    }
+
+    /**
+     * Gets the id of a student, which is its position in {@link #getStudents()}.
+     *
+     * @param registrationNumber The registration number to look up
+     * @return The student id, or -1 if there is no such student
+     */
+    public int getStudentId(String registrationNumber) {
+        return students == null ? -1 : students.idOf(registrationNumber);
+    }
+
+    /**
+     * Gets the id of a teacher, which is its position in {@link #getTeachers()}.
+     *
+     * @param name The name to look up
+     * @return The teacher id, or -1 if there is no such teacher
+     */
+    public int getTeacherId(String name) {
+        return teachers == null ? -1 : teachers.idOf(name);
+    }
+
+    /**
+     * Gets the id of a project, which is its position in {@link #getProjects()}.
+     *
+     * @param name The name to look up
+     * @return The project id, or -1 if there is no such project
+     */
+    public int getProjectId(String name) {
+        return projects == null ? -1 : projects.idOf(name);
     }
 
     /**
@@ -122,7 +164,7 @@ public class ProjectManagement {
      */
     @Override
     public int hashCode() {
-      return Objects.hash(Arrays.hashCode(students), Arrays.hashCode(teachers), Arrays.hashCode(projects));
+      return Objects.hash(getStudents(), getTeachers(), getProjects());
     }
 
     /**
@@ -136,8 +178,40 @@ public class ProjectManagement {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         ProjectManagement other = (ProjectManagement) obj;
-        return Arrays.equals(students, other.students) &&
-                Arrays.equals(teachers, other.teachers) &&
-                Arrays.equals(projects, other.projects);
+        return getStudents().equals(other.getStudents()) &&
+                getTeachers().equals(other.getTeachers()) &&
+                getProjects().equals(other.getProjects());
+    }
+
+    /**
+     * Entities in insertion order, with a hash index from key to id.
+     */
+    private static final class Registry<T> {
+        private final Function<T, String> key;
+        private final List<T> items = new ArrayList<>();
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<T> view = Collections.unmodifiableList(items);
+
+        Registry(Function<T, String> key) {
+            this.key = key;
+        }
+
+        boolean add(T item) {
+            if (ids.putIfAbsent(key.apply(item), items.size()) != null) {
+                return false;
+            }
+            items.add(item);
+            return true;
+        }
+
+        T get(String itemKey) {
+            Integer id = ids.get(itemKey);
+            return id == null ? null : items.get(id);
+        }
+
+        int idOf(String itemKey) {
+            Integer id = ids.get(itemKey);
+            return id == null ? -1 : id;
+        }
     }
-}
\ No newline at end of file
+}
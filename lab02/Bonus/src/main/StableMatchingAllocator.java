@@ -0,0 +1,360 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Allocates projects by student-proposing deferred acceptance (the SPA-student algorithm of
+ * Abraham, Irving and Manlove), with a capacity for every project and every teacher.
+ * Students propose down their preference lists; a project's teacher ranks students by a single
+ * priority order and rejects the worst one whenever a project or the teacher is oversubscribed.
+ * The result is the student-optimal stable allocation.
+ * Students, projects and teachers are numbered and all state is kept in int arrays; the
+ * deletions of the original algorithm are kept as per-project and per-teacher rank cutoffs,
+ * so the whole run takes O(L log L) for a total preference list length L.
+ */
+public class StableMatchingAllocator implements Allocator {
+    private static final int FREE = -1;
+
+    private final ToIntFunction<Project> projectCapacity;
+    private final ToIntFunction<Teacher> teacherCapacity;
+    private final Comparator<Student> priority;
+
+    // State of the last allocation, kept for blocking pair verification
+    private Student[] studentArray = new Student[0];
+    private List<Project> projects = List.of();
+    private int[] rank = new int[0];
+    private int[] offsets = {0};
+    private int[] targets = new int[0];
+    private int[] projectTeacher = new int[0];
+    private int[] projectCapacities = new int[0];
+    private int[] teacherCapacities = new int[0];
+    private int[] assignedPosition = new int[0];
+
+    /**
+     * Constructs an allocator with one student per project, no teacher limit,
+     * and students prioritised in the order they are given.
+     */
+    public StableMatchingAllocator() {
+        this(project -> 1, teacher -> Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs an allocator that prioritises students in the order they are given.
+     *
+     * @param projectCapacity The number of students each project accepts
+     * @param teacherCapacity The number of students each teacher supervises over all their projects
+     */
+    public StableMatchingAllocator(ToIntFunction<Project> projectCapacity, ToIntFunction<Teacher> teacherCapacity) {
+        this(projectCapacity, teacherCapacity, null);
+    }
+
+    /**
+     * Constructs an allocator with the given capacities and student priority.
+     *
+     * @param projectCapacity The number of students each project accepts
+     * @param teacherCapacity The number of students each teacher supervises over all their projects
+     * @param priority Orders students from most to least preferred by the teachers, or null for input order
+     */
+    public StableMatchingAllocator(ToIntFunction<Project> projectCapacity, ToIntFunction<Teacher> teacherCapacity,
+                                   Comparator<Student> priority) {
+        this.projectCapacity = projectCapacity;
+        this.teacherCapacity = teacherCapacity;
+        this.priority = priority;
+    }
+
+    /**
+     * A student and a project that would both rather be matched to each other than keep
+     * the allocation, which a stable allocation never contains.
+     *
+     * @param student The student of the pair
+     * @param project The project of the pair
+     */
+    public record BlockingPair(Student student, Project project) {
+    }
+
+    /**
+     * Allocates projects to students, giving the student-optimal stable allocation.
+     *
+     * @param students The list of students to allocate projects to
+     * @return A mapping of the allocated students to their projects
+     */
+    @Override
+    public Map<Student, Project> allocateProjects(List<Student> students) {
+        index(students);
+        int studentCount = studentArray.length;
+        int projectCount = projects.size();
+        int teacherCount = teacherCapacities.length;
+
+        // Students with a rank at or above a cutoff have been deleted from that project or teacher
+        int[] projectCutoff = new int[projectCount];
+        int[] teacherCutoff = new int[teacherCount];
+        Arrays.fill(projectCutoff, Integer.MAX_VALUE);
+        Arrays.fill(teacherCutoff, Integer.MAX_VALUE);
+        int[] projectLoad = new int[projectCount];
+        int[] teacherLoad = new int[teacherCount];
+        RankHeap[] projectHeaps = new RankHeap[projectCount];
+        RankHeap[] teacherHeaps = new RankHeap[teacherCount];
+
+        int[] assigned = new int[studentCount];
+        int[] next = new int[studentCount];
+        int[] free = new int[studentCount];
+        int freeCount = 0;
+        Arrays.fill(assigned, FREE);
+        // Propose in reverse so the first student comes off the stack first
+        for (int s = studentCount - 1; s >= 0; s--) {
+            next[s] = offsets[s];
+            free[freeCount++] = s;
+        }
+
+        while (freeCount > 0) {
+            int s = free[--freeCount];
+            int p = FREE;
+            while (next[s] < offsets[s + 1]) {
+                int candidate = targets[next[s]++];
+                if (rank[s] < projectCutoff[candidate] && rank[s] < teacherCutoff[projectTeacher[candidate]]) {
+                    p = candidate;
+                    break;
+                }
+            }
+            if (p == FREE) {
+                continue;
+            }
+            int t = projectTeacher[p];
+            assigned[s] = p;
+            assignedPosition[s] = next[s] - 1;
+            projectLoad[p]++;
+            teacherLoad[t]++;
+            if (projectHeaps[p] == null) {
+                projectHeaps[p] = new RankHeap(rank);
+            }
+            if (teacherHeaps[t] == null) {
+                teacherHeaps[t] = new RankHeap(rank);
+            }
+            projectHeaps[p].push(s);
+            teacherHeaps[t].push(s);
+
+            // Reject the worst student of the oversubscribed project, or else of the oversubscribed teacher
+            int rejected = FREE;
+            if (projectLoad[p] > projectCapacities[p]) {
+                rejected = projectHeaps[p].worst(assigned, p, null);
+            } else if (teacherLoad[t] > teacherCapacities[t]) {
+                rejected = teacherHeaps[t].worst(assigned, t, projectTeacher);
+            }
+            if (rejected != FREE) {
+                int from = assigned[rejected];
+                assigned[rejected] = FREE;
+                projectLoad[from]--;
+                teacherLoad[t]--;
+                free[freeCount++] = rejected;
+            }
+
+            // A full project or teacher will never take anyone ranked below its current worst student
+            if (projectLoad[p] >= projectCapacities[p]) {
+                int worst = projectLoad[p] == 0 ? FREE : projectHeaps[p].worst(assigned, p, null);
+                projectCutoff[p] = Math.min(projectCutoff[p], worst == FREE ? 0 : rank[worst] + 1);
+            }
+            if (teacherLoad[t] >= teacherCapacities[t]) {
+                int worst = teacherLoad[t] == 0 ? FREE : teacherHeaps[t].worst(assigned, t, projectTeacher);
+                teacherCutoff[t] = Math.min(teacherCutoff[t], worst == FREE ? 0 : rank[worst] + 1);
+            }
+        }
+
+        Map<Student, Project> allocation = new HashMap<>();
+        for (int s = 0; s < studentCount; s++) {
+            if (assigned[s] != FREE) {
+                allocation.put(studentArray[s], projects.get(assigned[s]));
+            } else {
+                assignedPosition[s] = FREE;
+            }
+        }
+        return allocation;
+    }
+
+    /**
+     * Finds the blocking pairs of the last allocation. A student s and a project p on their list,
+     * offered by teacher t, block the allocation if s is unallocated or prefers p to their project, and
+     * either p and t both have room, or p has room, t is full, and t either already supervises s or
+     * ranks s above its worst student, or p is full and t ranks s above the worst student of p.
+     *
+     * @return The blocking pairs, empty if the last allocation is stable
+     */
+    public List<BlockingPair> findBlockingPairs() {
+        int studentCount = studentArray.length;
+        int[] projectLoad = new int[projects.size()];
+        int[] teacherLoad = new int[teacherCapacities.length];
+        int[] projectWorst = new int[projects.size()];
+        int[] teacherWorst = new int[teacherCapacities.length];
+        Arrays.fill(projectWorst, -1);
+        Arrays.fill(teacherWorst, -1);
+        for (int s = 0; s < studentCount; s++) {
+            if (assignedPosition[s] != FREE) {
+                int p = targets[assignedPosition[s]];
+                int t = projectTeacher[p];
+                projectLoad[p]++;
+                teacherLoad[t]++;
+                projectWorst[p] = Math.max(projectWorst[p], rank[s]);
+                teacherWorst[t] = Math.max(teacherWorst[t], rank[s]);
+            }
+        }
+
+        List<BlockingPair> pairs = new ArrayList<>();
+        for (int s = 0; s < studentCount; s++) {
+            int end = assignedPosition[s] == FREE ? offsets[s + 1] : assignedPosition[s];
+            int current = assignedPosition[s] == FREE ? FREE : targets[assignedPosition[s]];
+            for (int e = offsets[s]; e < end; e++) {
+                int p = targets[e];
+                int t = projectTeacher[p];
+                boolean blocking;
+                if (projectLoad[p] < projectCapacities[p]) {
+                    blocking = teacherLoad[t] < teacherCapacities[t]
+                            || (current != FREE && projectTeacher[current] == t)
+                            || rank[s] < teacherWorst[t];
+                } else {
+                    blocking = rank[s] < projectWorst[p];
+                }
+                if (blocking) {
+                    pairs.add(new BlockingPair(studentArray[s], projects.get(p)));
+                }
+            }
+        }
+        return pairs;
+    }
+
+    // Numbers students by priority, projects and teachers in order of first appearance
+    private void index(List<Student> students) {
+        studentArray = students.toArray(new Student[0]);
+        int studentCount = studentArray.length;
+        rank = new int[studentCount];
+        if (priority == null) {
+            for (int s = 0; s < studentCount; s++) {
+                rank[s] = s;
+            }
+        } else {
+            Integer[] byPriority = new Integer[studentCount];
+            for (int s = 0; s < studentCount; s++) {
+                byPriority[s] = s;
+            }
+            Arrays.sort(byPriority, (a, b) -> priority.compare(studentArray[a], studentArray[b]));
+            for (int r = 0; r < studentCount; r++) {
+                rank[byPriority[r]] = r;
+            }
+        }
+
+        Map<Project, Integer> projectIndex = new HashMap<>();
+        Map<Teacher, Integer> teacherIndex = new HashMap<>();
+        List<Project> projectList = new ArrayList<>();
+        int[] projectTeachers = new int[16];
+        int[] teacherCaps = new int[16];
+        int edgeCount = 0;
+        for (Student student : studentArray) {
+            edgeCount += student.getProjects().size();
+        }
+        offsets = new int[studentCount + 1];
+        targets = new int[edgeCount];
+        int position = 0;
+        for (int s = 0; s < studentCount; s++) {
+            offsets[s] = position;
+            for (Project project : studentArray[s].getProjects()) {
+                if (project == null) {
+                    continue;
+                }
+                Integer p = projectIndex.get(project);
+                if (p == null) {
+                    p = projectList.size();
+                    projectIndex.put(project, p);
+                    projectList.add(project);
+                    Integer t = teacherIndex.putIfAbsent(project.getProposer(), teacherIndex.size());
+                    if (t == null) {
+                        t = teacherIndex.size() - 1;
+                        if (t == teacherCaps.length) {
+                            teacherCaps = Arrays.copyOf(teacherCaps, t * 2);
+                        }
+                        teacherCaps[t] = teacherCapacity.applyAsInt(project.getProposer());
+                    }
+                    if (p == projectTeachers.length) {
+                        projectTeachers = Arrays.copyOf(projectTeachers, p * 2);
+                    }
+                    projectTeachers[p] = t;
+                }
+                targets[position++] = p;
+            }
+        }
+        offsets[studentCount] = position;
+
+        projects = projectList;
+        projectTeacher = Arrays.copyOf(projectTeachers, projectList.size());
+        teacherCapacities = Arrays.copyOf(teacherCaps, teacherIndex.size());
+        projectCapacities = new int[projectList.size()];
+        for (int p = 0; p < projectCapacities.length; p++) {
+            projectCapacities[p] = projectCapacity.applyAsInt(projectList.get(p));
+        }
+        assignedPosition = new int[studentCount];
+    }
+
+    /**
+     * Max-heap of student ids by rank. Students who have since moved are left in place and
+     * skipped when they reach the top.
+     */
+    private static final class RankHeap {
+        private final int[] rank;
+        private int[] items = new int[4];
+        private int size;
+
+        RankHeap(int[] rank) {
+            this.rank = rank;
+        }
+
+        void push(int student) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (rank[items[parent]] >= rank[student]) {
+                    break;
+                }
+                items[i] = items[parent];
+                i = parent;
+            }
+            items[i] = student;
+        }
+
+        // Worst student still assigned to the owner: a project, or a teacher when projectTeacher is given
+        int worst(int[] assigned, int owner, int[] projectTeacher) {
+            while (size > 0) {
+                int top = items[0];
+                int p = assigned[top];
+                if (p != FREE && (projectTeacher == null ? p : projectTeacher[p]) == owner) {
+                    return top;
+                }
+                pop();
+            }
+            return FREE;
+        }
+
+        private void pop() {
+            int last = items[--size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && rank[items[child + 1]] > rank[items[child]]) {
+                    child++;
+                }
+                if (rank[items[child]] <= rank[last]) {
+                    break;
+                }
+                items[i] = items[child];
+                i = child;
+            }
+            items[i] = last;
+        }
+    }
+}
@@ -19,4 +19,6 @@ abstract class Aircraft {
     public int getTailNumber() {
         return tailNumber;
     }
+    // The RunwayCapability bits a runway needs to take this aircraft
+    public abstract int getRequiredCapabilities();
 }
@@ -14,6 +14,12 @@ public class Airliner extends Aircraft implements CargoCapable, PassengerCapable
         return this.wingSpan;
     }
 
+    // Wing spans from 52 m need a runway for heavy aircraft
+    @Override
+    public int getRequiredCapabilities() {
+        return RunwayCapability.of(RunwayCapability.STRIP, wingSpan >= 52 ? RunwayCapability.HEAVY : RunwayCapability.MEDIUM);
+    }
+
     @Override
     public boolean isPassengerCapable() {
         return true;
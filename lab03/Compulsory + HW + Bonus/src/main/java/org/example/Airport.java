@@ -1,11 +1,15 @@
 package org.example;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class Airport {
     private final List<String> runways;
     private final String name;
+    // RunwayCapability masks; runways without one offer everything
+    private final Map<String, Integer> capabilities = new HashMap<>();
 
     public Airport(String name,List<String> runways) {
         this.name = name;
@@ -16,6 +20,15 @@ public class Airport {
         runways.add(runway);
     }
 
+    public void addRunway(String runway, int capabilities) {
+        runways.add(runway);
+        this.capabilities.put(runway, capabilities);
+    }
+
+    public int getCapabilities(String runway) {
+        return capabilities.getOrDefault(runway, RunwayCapability.ALL);
+    }
+
     public List<String> getRunways() {
         return new ArrayList<>(runways);
     }
@@ -0,0 +1,126 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// Solves a planning run of many airports through SchedulingService, once on one worker and once on every core,
+// and prints the throughput, solve time, additional runways and utilization per airport size.
+// Usage: BatchSchedulingBenchmark [airports per size] [sizes...]
+public class BatchSchedulingBenchmark {
+    private static final long SEED = 20250317L;
+
+    // Running totals for one airport size, added to from every worker
+    private static final class Totals {
+        final LongAdder problems = new LongAdder();
+        final LongAdder flights = new LongAdder();
+        final LongAdder solveNanos = new LongAdder();
+        final LongAdder additionalRunways = new LongAdder();
+        final DoubleAdder utilization = new DoubleAdder();
+
+        void add(SchedulingService.Result result) {
+            problems.increment();
+            flights.add(result.request().flights().size());
+            solveNanos.add(result.solveTime().toNanos());
+            additionalRunways.add(result.additionalRunways());
+            utilization.add(result.utilization());
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int perSize = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int[] sizes = args.length > 1
+                ? Stream.of(args).skip(1).mapToInt(Integer::parseInt).toArray()
+                : new int[]{100, 1000, 10000};
+
+        // Every airport gets one runway per 100 flights of its day, at least two
+        List<SchedulingService.Request> requests = new ArrayList<>();
+        for (int size : sizes) {
+            for (int i = 0; i < perSize; i++) {
+                List<String> runways = new ArrayList<>();
+                for (int r = 1; r <= Math.max(2, size / 100); r++) {
+                    runways.add("Runway" + r);
+                }
+                Airport airport = new Airport("Airport" + size + "-" + i, runways);
+                requests.add(new SchedulingService.Request(airport, SchedulingBenchmark.randomDay(size, SEED + size * 1000L + i)));
+            }
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int parallelism : IntStream.of(1, cores).distinct().toArray()) {
+            Map<Integer, Totals> bySize = new ConcurrentHashMap<>();
+            long start = System.nanoTime();
+            try (SchedulingService service = new SchedulingService(parallelism)) {
+                CountingSubscriber subscriber = new CountingSubscriber(bySize);
+                service.publish(requests.stream()).subscribe(subscriber);
+                subscriber.await();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%d worker(s): %d airports in %.2f s, %.0f airports/s%n",
+                    parallelism, requests.size(), seconds, requests.size() / seconds);
+            // Per size, flights/s is per second of solve time, what one worker gets through on airports of that size
+            System.out.printf("%8s %10s %14s %14s %12s %12s%n",
+                    "flights", "airports", "flights/s/cpu", "ms/airport", "additional", "utilization");
+            for (Map.Entry<Integer, Totals> entry : new TreeMap<>(bySize).entrySet()) {
+                Totals totals = entry.getValue();
+                long problems = totals.problems.sum();
+                double solveSeconds = totals.solveNanos.sum() / 1e9;
+                System.out.printf("%8d %10d %14.0f %14.2f %12.1f %11.1f%%%n", entry.getKey(), problems,
+                        totals.flights.sum() / solveSeconds, solveSeconds * 1e3 / problems,
+                        (double) totals.additionalRunways.sum() / problems, totals.utilization.sum() / problems * 100);
+            }
+        }
+    }
+
+    // Adds every result to the totals of its airport size and lets main wait for the last one
+    private static final class CountingSubscriber implements Flow.Subscriber<SchedulingService.Result> {
+        private final Map<Integer, Totals> bySize;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private Throwable failure;
+
+        CountingSubscriber(Map<Integer, Totals> bySize) {
+            this.bySize = bySize;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(SchedulingService.Result result) {
+            if (!result.isSolved()) {
+                System.out.println(result.request().airport().getName() + " failed: " + result.failure().getMessage());
+                return;
+            }
+            bySize.computeIfAbsent(result.request().flights().size(), size -> new Totals()).add(result);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            failure = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+
+        void await() throws InterruptedException {
+            done.await();
+            if (failure != null) {
+                throw new IllegalStateException("Batch failed", failure);
+            }
+        }
+    }
+}
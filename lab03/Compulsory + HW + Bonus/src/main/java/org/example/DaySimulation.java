@@ -0,0 +1,34 @@
+package org.example;
+
+import java.util.SplittableRandom;
+
+// Schedules one random day straight from a FlightTable, without any Flight objects, and reports the runways,
+// the time and the heap it took. Usage: DaySimulation [flights] [runways] [max delay minutes]
+// Ten million flights fit in -Xmx300m.
+public class DaySimulation {
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int runways = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int maxDelay = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        // Flights of 5 to 60 minutes, arriving at any second that lets them leave the same day
+        SplittableRandom random = new SplittableRandom(20250317L);
+        FlightTable table = new FlightTable(size);
+        for (int i = 0; i < size; i++) {
+            int duration = random.nextInt(5 * 60, 60 * 60 + 1);
+            int arrival = random.nextInt(FlightTable.SECONDS_PER_DAY - duration);
+            table.add(arrival, arrival + duration);
+        }
+
+        long start = System.nanoTime();
+        TableScheduler scheduler = new TableScheduler(table, runways, maxDelay);
+        scheduler.solve();
+        long elapsed = System.nanoTime() - start;
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        System.out.printf("%d flights on %d runways (%d additional) in %.0f ms, %d MB of heap in use%n",
+                table.size(), scheduler.getRunwayCount(), scheduler.getAdditionalRunwaysNeeded(), elapsed / 1e6,
+                (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+    }
+}
@@ -0,0 +1,414 @@
+package org.example;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// Finds the fewest runways on which every flight can land with at most maxDelay minutes of delay.
+// This is interval graph coloring where each interval may slide right by up to maxDelay. Flights whose
+// windows never overlap are independent, so the day is cut into components. Each starts from a greedy
+// schedule and branch and bound then tries one runway less at a time, down to a lower bound. When the time
+// budget runs out, the best schedule found so far is kept. Times are whole seconds of the day. Runways are taken
+// as interchangeable here; TableScheduler and LiveSchedule match flights to runway capabilities.
+public class DelayBoundedScheduler {
+    private static final int CHECK_INTERVAL = 4096;
+    // The search recurses once per flight and the energy bound is quadratic, so larger components skip them
+    private static final int MAX_SEARCH_SIZE = 5000;
+    private static final int MAX_ENERGY_SIZE = 2000;
+
+    private final Airport airport;
+    private final List<Flight> flights;
+    private final int maxDelay;
+    private final long timeBudgetNanos;
+
+    private RunwaySchedule schedule;
+    private int runwaysNeeded;
+    private int lowerBound;
+    private boolean optimal;
+    private boolean solved = false;
+
+    public DelayBoundedScheduler(Airport airport, List<Flight> flights) {
+        this(airport, flights, 30, Duration.ofSeconds(2));
+    }
+
+    public DelayBoundedScheduler(Airport airport, List<Flight> flights, int maxDelay, Duration timeBudget) {
+        this.airport = airport;
+        this.flights = new ArrayList<>(flights);
+        this.maxDelay = maxDelay;
+        this.timeBudgetNanos = timeBudget.toNanos();
+    }
+
+    public void solve() {
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        int count = flights.size();
+        int[] arrival = new int[count];
+        int[] duration = new int[count];
+        int[] latest = new int[count];
+        for (int i = 0; i < count; i++) {
+            Flight flight = flights.get(i);
+            arrival[i] = flight.getArrivalTime().toSecondOfDay();
+            duration[i] = flight.getDepartureTime().toSecondOfDay() - arrival[i];
+            latest[i] = Math.min(arrival[i] + maxDelay * 60, FlightTable.SECONDS_PER_DAY - 1 - duration[i]);
+            if (duration[i] < 0 || latest[i] < arrival[i]) {
+                throw new IllegalArgumentException("Flight " + flight.getFlightNumber() + " does not fit in the day");
+            }
+        }
+
+        // Cut the day wherever no flight's window, from arrival to latest departure, spans the gap
+        Integer[] byArrival = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            byArrival[i] = i;
+        }
+        Arrays.sort(byArrival, (a, b) -> Integer.compare(arrival[a], arrival[b]));
+        List<Component> components = new ArrayList<>();
+        int from = 0;
+        while (from < count) {
+            int to = from;
+            int windowEnd = latest[byArrival[from]] + duration[byArrival[from]];
+            while (to + 1 < count && arrival[byArrival[to + 1]] < windowEnd) {
+                to++;
+                windowEnd = Math.max(windowEnd, latest[byArrival[to]] + duration[byArrival[to]]);
+            }
+            int[] members = new int[to - from + 1];
+            for (int j = 0; j < members.length; j++) {
+                members[j] = byArrival[from + j];
+            }
+            components.add(new Component(members, arrival, duration, latest));
+            from = to + 1;
+        }
+
+        // Only the busiest component counts, and the airport's own runways are free, so no component is pushed
+        // below what the others already need
+        lowerBound = 0;
+        for (Component component : components) {
+            lowerBound = Math.max(lowerBound, component.lowerBound);
+        }
+        int target = Math.max(lowerBound, airport.getRunways().size());
+        components.sort(Comparator.comparingInt((Component c) -> c.runways).reversed());
+        int[] start = new int[count];
+        int[] runway = new int[count];
+        runwaysNeeded = 0;
+        for (Component component : components) {
+            if (component.runways > target) {
+                component.improve(target, deadline);
+                lowerBound = Math.max(lowerBound, component.lowerBound);
+                target = Math.max(target, component.runways);
+            }
+            for (int j = 0; j < component.members.length; j++) {
+                start[component.members[j]] = component.start[j];
+                runway[component.members[j]] = component.runway[j];
+            }
+            runwaysNeeded = Math.max(runwaysNeeded, component.runways);
+        }
+        optimal = runwaysNeeded <= Math.max(lowerBound, airport.getRunways().size());
+
+        List<String> names = airport.getRunways();
+        for (int j = names.size(); j < runwaysNeeded; j++) {
+            names.add("VirtualRunway" + (j - airport.getRunways().size() + 1));
+        }
+        schedule = new RunwaySchedule(count);
+        for (String name : names) {
+            schedule.addRunway(name);
+        }
+        for (int i = 0; i < count; i++) {
+            Flight flight = flights.get(i);
+            schedule.assign(flight, names.get(runway[i]), flight.getArrivalTime().plusSeconds(start[i] - arrival[i]));
+        }
+        solved = true;
+    }
+
+    public RunwaySchedule getSchedule() {
+        checkSolved();
+        return schedule;
+    }
+
+    public int getAdditionalRunwaysNeeded() {
+        checkSolved();
+        return Math.max(0, runwaysNeeded - airport.getRunways().size());
+    }
+
+    // The fewest runways any schedule could use, as proven by the bounds
+    public int getLowerBound() {
+        checkSolved();
+        return lowerBound;
+    }
+
+    // Whether every component was solved exactly within the time budget
+    public boolean isOptimal() {
+        checkSolved();
+        return optimal;
+    }
+
+    private void checkSolved() {
+        if (!solved) {
+            throw new IllegalStateException("Problem not solved yet");
+        }
+    }
+
+    // The flights of one component, sorted by latest start, with the branch and bound state
+    private static final class Component {
+        final int[] members;
+        private final int size;
+        private final int[] arrival;
+        private final int[] duration;
+        private final int[] latest;
+        final int[] start;
+        final int[] runway;
+        int runways;
+        int lowerBound;
+
+        private int[] free;
+        private final int[] order;
+        private boolean[] scheduled;
+        private int[] tryStart;
+        private int[] tryRunway;
+        private long nodes;
+        private long deadline;
+        private boolean timedOut;
+
+        Component(int[] members, int[] arrival, int[] duration, int[] latest) {
+            this.members = members;
+            this.size = members.length;
+            Integer[] byLatest = new Integer[size];
+            for (int j = 0; j < size; j++) {
+                byLatest[j] = j;
+            }
+            Arrays.sort(byLatest, Comparator.<Integer>comparingInt(j -> latest[members[j]])
+                    .thenComparingInt(j -> arrival[members[j]])
+                    .thenComparingInt(j -> duration[members[j]]));
+            this.arrival = new int[size];
+            this.duration = new int[size];
+            this.latest = new int[size];
+            // Results are kept in member order, the search works in latest start order
+            this.order = new int[size];
+            for (int j = 0; j < size; j++) {
+                int m = members[byLatest[j]];
+                this.arrival[j] = arrival[m];
+                this.duration[j] = duration[m];
+                this.latest[j] = latest[m];
+                this.order[j] = byLatest[j];
+            }
+            this.start = new int[size];
+            this.runway = new int[size];
+
+            int[] greedyStart = new int[size];
+            int[] greedyRunway = new int[size];
+            runways = greedy(greedyStart, greedyRunway);
+            store(greedyStart, greedyRunway);
+            lowerBound = Math.max(compulsoryOverlap(), energyBound());
+        }
+
+        // Tries one runway less at a time, down to floor, keeping every schedule found. The first count that
+        // is proven impossible makes the last schedule optimal.
+        void improve(int floor, long deadline) {
+            if (size > MAX_SEARCH_SIZE) {
+                return;
+            }
+            this.deadline = deadline;
+            this.tryStart = new int[size];
+            this.tryRunway = new int[size];
+            for (int k = runways - 1; k >= Math.max(floor, lowerBound) && !timedOut; k--) {
+                free = new int[k];
+                scheduled = new boolean[size];
+                if (search(k, size)) {
+                    store(tryStart, tryRunway);
+                    runways = k;
+                } else if (!timedOut) {
+                    lowerBound = k + 1;
+                }
+                if (runways != k) {
+                    return;
+                }
+            }
+        }
+
+        private void store(int[] starts, int[] runwayOf) {
+            for (int j = 0; j < size; j++) {
+                start[order[j]] = starts[j];
+                runway[order[j]] = runwayOf[j];
+            }
+        }
+
+        // In arrival order, each flight goes to the runway that frees up first, or to a new one if that one is too late
+        private int greedy(int[] starts, int[] runwayOf) {
+            Integer[] byArrival = new Integer[size];
+            for (int j = 0; j < size; j++) {
+                byArrival[j] = j;
+            }
+            Arrays.sort(byArrival, (a, b) -> Integer.compare(arrival[a], arrival[b]));
+            RunwayHeap freeAt = new RunwayHeap(16);
+            int opened = 0;
+            for (int j : byArrival) {
+                int r;
+                int begin;
+                if (!freeAt.isEmpty() && freeAt.peekTime() <= latest[j]) {
+                    begin = Math.max(arrival[j], freeAt.peekTime());
+                    r = freeAt.pop();
+                } else {
+                    begin = arrival[j];
+                    r = opened++;
+                }
+                starts[j] = begin;
+                runwayOf[j] = r;
+                freeAt.push(begin + duration[j], r);
+            }
+            return opened;
+        }
+
+        // Flights whose duration exceeds the allowed delay surely occupy [latest, arrival + duration)
+        private int compulsoryOverlap() {
+            List<long[]> events = new ArrayList<>();
+            for (int j = 0; j < size; j++) {
+                if (latest[j] < arrival[j] + duration[j]) {
+                    events.add(new long[]{latest[j], 1});
+                    events.add(new long[]{arrival[j] + duration[j], -1});
+                }
+            }
+            events.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+            int depth = 0;
+            int best = size > 0 ? 1 : 0;
+            for (long[] event : events) {
+                depth += (int) event[1];
+                best = Math.max(best, depth);
+            }
+            return best;
+        }
+
+        // For every window from an arrival to a latest departure, the flights that must run inside it need
+        // at least their total duration divided by the window length runways
+        private int energyBound() {
+            if (size > MAX_ENERGY_SIZE) {
+                return 0;
+            }
+            Integer[] byEnd = new Integer[size];
+            for (int j = 0; j < size; j++) {
+                byEnd[j] = j;
+            }
+            Arrays.sort(byEnd, (a, b) -> Integer.compare(latest[a] + duration[a], latest[b] + duration[b]));
+            int best = 0;
+            for (int s = 0; s < size; s++) {
+                int from = arrival[s];
+                long work = 0;
+                for (int j : byEnd) {
+                    if (arrival[j] < from) {
+                        continue;
+                    }
+                    work += duration[j];
+                    int length = latest[j] + duration[j] - from;
+                    if (length > 0) {
+                        best = Math.max(best, (int) ((work + length - 1) / length));
+                    }
+                }
+            }
+            return best;
+        }
+
+        // Whether the unscheduled flights fit on the open runways. The runway that frees up first decides what it
+        // does next: take one of the flights, each at the earliest moment it can, or close for the rest of the day.
+        private boolean search(int open, int remaining) {
+            if (remaining == 0) {
+                return true;
+            }
+            if (open == 0 || timedOut) {
+                return false;
+            }
+            if (++nodes % CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                timedOut = true;
+                return false;
+            }
+
+            int r = 0;
+            int second = Integer.MAX_VALUE;
+            for (int q = 1; q < open; q++) {
+                if (free[q] < free[r]) {
+                    second = free[r];
+                    r = q;
+                } else if (free[q] < second) {
+                    second = free[q];
+                }
+            }
+            int t = free[r];
+            int first = 0;
+            while (scheduled[first]) {
+                first++;
+            }
+            // No runway frees up before the most urgent flight has to start
+            if (latest[first] < t) {
+                return false;
+            }
+
+            int lastArrival = -1;
+            int lastDuration = -1;
+            for (int j = first; j < size; j++) {
+                if (scheduled[j]) {
+                    continue;
+                }
+                int begin = Math.max(arrival[j], t);
+                // Taking j must leave some runway for the most urgent flight
+                if (j != first && begin + duration[j] > latest[first] && second > latest[first]) {
+                    continue;
+                }
+                // Flights that look the same lead to the same subtrees
+                if (arrival[j] == lastArrival && duration[j] == lastDuration) {
+                    continue;
+                }
+                lastArrival = arrival[j];
+                lastDuration = duration[j];
+
+                scheduled[j] = true;
+                tryStart[j] = begin;
+                tryRunway[j] = r;
+                free[r] = begin + duration[j];
+                if (search(open, remaining - 1)) {
+                    return true;
+                }
+                free[r] = t;
+                scheduled[j] = false;
+                if (timedOut) {
+                    return false;
+                }
+            }
+
+            // A schedule that leaves a runway empty could hand it one of its flights instead, so closing an unused
+            // runway never finds anything the other branches miss
+            if (!usedRunway(r)) {
+                return false;
+            }
+            int last = open - 1;
+            swapRunways(r, last);
+            boolean found = search(last, remaining);
+            swapRunways(r, last);
+            return found;
+        }
+
+        private boolean usedRunway(int r) {
+            for (int j = 0; j < size; j++) {
+                if (scheduled[j] && tryRunway[j] == r) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Keeps the open runways first; the flights already placed follow their runway to its new index
+        private void swapRunways(int a, int b) {
+            if (a == b) {
+                return;
+            }
+            int time = free[a];
+            free[a] = free[b];
+            free[b] = time;
+            for (int j = 0; j < size; j++) {
+                if (scheduled[j]) {
+                    if (tryRunway[j] == a) {
+                        tryRunway[j] = b;
+                    } else if (tryRunway[j] == b) {
+                        tryRunway[j] = a;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -13,6 +13,11 @@ public class Drone extends Aircraft implements PassengerCapable,CargoCapable {
         return this.batteryLife;
     }
 
+    @Override
+    public int getRequiredCapabilities() {
+        return RunwayCapability.DRONE_PAD.bit();
+    }
+
     @Override
     public boolean isCargoCapable() {
         return false;
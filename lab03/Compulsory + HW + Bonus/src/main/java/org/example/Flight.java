@@ -6,11 +6,17 @@ public class Flight {
     private final LocalTime arrivalTime;
     private final LocalTime departureTime;
     private final String flightNumber;
+    private final Aircraft aircraft;
 
     public Flight(String flightNumber, LocalTime arrivalTime, LocalTime departureTime) {
+        this(flightNumber, arrivalTime, departureTime, null);
+    }
+
+    public Flight(String flightNumber, LocalTime arrivalTime, LocalTime departureTime, Aircraft aircraft) {
         this.flightNumber = flightNumber;
         this.arrivalTime = arrivalTime;
         this.departureTime = departureTime;
+        this.aircraft = aircraft;
     }
 
     public LocalTime getArrivalTime() {
@@ -24,4 +30,14 @@ public class Flight {
     public String getFlightNumber() {
         return flightNumber;
     }
+
+    // The aircraft flying it, or null if unknown
+    public Aircraft getAircraft() {
+        return aircraft;
+    }
+
+    // What the aircraft needs from a runway; a flight without one only needs a strip
+    public int getRequiredCapabilities() {
+        return aircraft == null ? RunwayCapability.STRIP.bit() : aircraft.getRequiredCapabilities();
+    }
 }
\ No newline at end of file
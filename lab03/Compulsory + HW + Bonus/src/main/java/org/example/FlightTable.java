@@ -0,0 +1,106 @@
+package org.example;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+// Flights as parallel columns indexed by a dense flight id, times in seconds of the day and the runway
+// capabilities the aircraft needs as one byte. Nine bytes a flight, against well over a hundred for a Flight
+// with its two LocalTimes and String.
+// A table made from Flight objects keeps them, so results can be turned back into objects.
+public final class FlightTable {
+    static final int SECONDS_PER_DAY = 86_400;
+
+    private int[] arrival;
+    private int[] departure;
+    private byte[] required;
+    private Flight[] flights;
+    private int size;
+
+    public FlightTable(int capacity) {
+        this.arrival = new int[Math.max(4, capacity)];
+        this.departure = new int[Math.max(4, capacity)];
+        this.required = new byte[Math.max(4, capacity)];
+    }
+
+    public static FlightTable from(List<Flight> flights) {
+        FlightTable table = new FlightTable(flights.size());
+        table.flights = flights.toArray(new Flight[0]);
+        for (Flight flight : table.flights) {
+            table.append(flight.getArrivalTime().toSecondOfDay(), flight.getDepartureTime().toSecondOfDay(),
+                    flight.getRequiredCapabilities());
+        }
+        return table;
+    }
+
+    // Adds a flight by its arrival and departure second and returns its id; it only needs a strip
+    public int add(int arrivalSecond, int departureSecond) {
+        return add(arrivalSecond, departureSecond, RunwayCapability.STRIP.bit());
+    }
+
+    public int add(int arrivalSecond, int departureSecond, int requiredCapabilities) {
+        if (flights != null) {
+            throw new IllegalStateException("A table made from Flight objects cannot take bare times");
+        }
+        return append(arrivalSecond, departureSecond, requiredCapabilities);
+    }
+
+    private int append(int arrivalSecond, int departureSecond, int requiredCapabilities) {
+        if (arrivalSecond < 0 || departureSecond < arrivalSecond || departureSecond >= SECONDS_PER_DAY) {
+            throw new IllegalArgumentException("Invalid flight times: " + arrivalSecond + " to " + departureSecond);
+        }
+        if ((requiredCapabilities & ~RunwayCapability.ALL) != 0) {
+            throw new IllegalArgumentException("Unknown runway capabilities: " + requiredCapabilities);
+        }
+        if (size == arrival.length) {
+            arrival = Arrays.copyOf(arrival, size * 2);
+            departure = Arrays.copyOf(departure, size * 2);
+            required = Arrays.copyOf(required, size * 2);
+        }
+        arrival[size] = arrivalSecond;
+        departure[size] = departureSecond;
+        required[size] = (byte) requiredCapabilities;
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getArrival(int flight) {
+        return arrival[flight];
+    }
+
+    public int getDeparture(int flight) {
+        return departure[flight];
+    }
+
+    public int getRequiredCapabilities(int flight) {
+        return required[flight] & 0xFF;
+    }
+
+    // The Flight the id came from, or a new one numbered after the id for a table built from times
+    public Flight toFlight(int flight) {
+        if (flights != null) {
+            return flights[flight];
+        }
+        return new Flight("FL" + flight, LocalTime.ofSecondOfDay(arrival[flight]),
+                LocalTime.ofSecondOfDay(departure[flight]));
+    }
+
+    // The flight ids by arrival, ties by id, from a counting sort over the seconds of the day
+    int[] byArrival() {
+        int[] first = new int[SECONDS_PER_DAY + 1];
+        for (int i = 0; i < size; i++) {
+            first[arrival[i] + 1]++;
+        }
+        for (int second = 0; second < SECONDS_PER_DAY; second++) {
+            first[second + 1] += first[second];
+        }
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[first[arrival[i]]++] = i;
+        }
+        return order;
+    }
+}
@@ -15,6 +15,14 @@ public class Freighter extends Aircraft implements CargoCapable,PassengerCapable
         return this.wingSpan;
     }
 
+    // Heavy by wing span like airliners, or by a payload over 60 tonnes
+    @Override
+    public int getRequiredCapabilities() {
+        boolean heavy = wingSpan >= 52 || maximumPayload > 60_000;
+        return RunwayCapability.of(RunwayCapability.STRIP, RunwayCapability.CARGO,
+                heavy ? RunwayCapability.HEAVY : RunwayCapability.MEDIUM);
+    }
+
     @Override
     public boolean isPassengerCapable() {
         return false;
@@ -0,0 +1,207 @@
+package org.example;
+
+import java.util.Arrays;
+
+// The free gaps of many runways in one treap ordered by gap start, then runway. Every node also keeps the
+// latest end and the longest gap in its subtree, so a gap that fits a flight is found in O(log n) however
+// many runways there are. Times are seconds of the day, gaps run from start up to, not including, end.
+final class GapTree {
+    static final int NONE = 0;
+
+    // Node 0 stands for the empty subtree
+    private long[] key = new long[16];
+    private int[] end = new int[16];
+    private int[] left = new int[16];
+    private int[] right = new int[16];
+    private int[] priority = new int[16];
+    private int[] maxEnd = new int[16];
+    private int[] maxLength = new int[16];
+    private int root = NONE;
+    private int nodes = 1;
+    private int freeList = NONE;
+    private int size;
+    // The two halves of the last split
+    private int low;
+    private int high;
+    private int seed = 0x2545F491;
+
+    GapTree() {
+        maxEnd[NONE] = Integer.MIN_VALUE;
+        maxLength[NONE] = Integer.MIN_VALUE;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int start(int node) {
+        return (int) (key[node] >>> 32);
+    }
+
+    int end(int node) {
+        return end[node];
+    }
+
+    int runway(int node) {
+        return (int) key[node];
+    }
+
+    void insert(int start, int end, int runway) {
+        int node = allocate(pack(start, runway), end);
+        split(root, key[node]);
+        root = merge(merge(low, node), high);
+        size++;
+    }
+
+    // Removes the gap of the runway that starts at start, which must be there
+    void remove(int start, int runway) {
+        long target = pack(start, runway);
+        split(root, target);
+        int before = low;
+        split(high, target + 1);
+        if (low == NONE) {
+            root = merge(before, high);
+            throw new IllegalStateException("No gap at " + start + " on runway " + runway);
+        }
+        release(low);
+        root = merge(before, high);
+        size--;
+    }
+
+    // Some gap that starts no later than start and ends no earlier than end, or NONE
+    int findCovering(int start, int end) {
+        int node = root;
+        while (node != NONE) {
+            if (start(node) > start) {
+                node = left[node];
+                continue;
+            }
+            // The node and its whole left subtree start early enough
+            if (this.end[node] >= end) {
+                return node;
+            }
+            if (maxEnd[left[node]] >= end) {
+                return descendToEnd(left[node], end);
+            }
+            node = right[node];
+        }
+        return NONE;
+    }
+
+    // The earliest gap that starts from from to to and is at least length long, or NONE
+    int findEarliest(int from, int to, int length) {
+        return findEarliest(root, from, to, length);
+    }
+
+    private int findEarliest(int node, int from, int to, int length) {
+        if (node == NONE || maxLength[node] < length) {
+            return NONE;
+        }
+        int start = start(node);
+        if (start < from) {
+            return findEarliest(right[node], from, to, length);
+        }
+        if (start > to) {
+            return findEarliest(left[node], from, to, length);
+        }
+        int found = findEarliest(left[node], from, to, length);
+        if (found != NONE) {
+            return found;
+        }
+        if (end[node] - start >= length) {
+            return node;
+        }
+        return findEarliest(right[node], from, to, length);
+    }
+
+    private int descendToEnd(int node, int end) {
+        while (this.end[node] < end) {
+            node = maxEnd[left[node]] >= end ? left[node] : right[node];
+        }
+        return node;
+    }
+
+    // Splits the subtree into low, the nodes with keys below target, and high, the rest
+    private void split(int node, long target) {
+        if (node == NONE) {
+            low = NONE;
+            high = NONE;
+        } else if (key[node] < target) {
+            split(right[node], target);
+            right[node] = low;
+            update(node);
+            low = node;
+        } else {
+            split(left[node], target);
+            left[node] = high;
+            update(node);
+            high = node;
+        }
+    }
+
+    private int merge(int a, int b) {
+        if (a == NONE) {
+            return b;
+        }
+        if (b == NONE) {
+            return a;
+        }
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private void update(int node) {
+        maxEnd[node] = Math.max(end[node], Math.max(maxEnd[left[node]], maxEnd[right[node]]));
+        maxLength[node] = Math.max(end[node] - start(node), Math.max(maxLength[left[node]], maxLength[right[node]]));
+    }
+
+    private int allocate(long nodeKey, int nodeEnd) {
+        int node;
+        if (freeList != NONE) {
+            node = freeList;
+            freeList = left[node];
+        } else {
+            if (nodes == key.length) {
+                grow();
+            }
+            node = nodes++;
+        }
+        key[node] = nodeKey;
+        end[node] = nodeEnd;
+        left[node] = NONE;
+        right[node] = NONE;
+        // xorshift, so the shape of the tree does not depend on the order of the gaps
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        priority[node] = seed;
+        update(node);
+        return node;
+    }
+
+    private void release(int node) {
+        left[node] = freeList;
+        freeList = node;
+    }
+
+    private void grow() {
+        int capacity = key.length * 2;
+        key = Arrays.copyOf(key, capacity);
+        end = Arrays.copyOf(end, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        maxEnd = Arrays.copyOf(maxEnd, capacity);
+        maxLength = Arrays.copyOf(maxLength, capacity);
+    }
+
+    private static long pack(int start, int runway) {
+        return (long) start << 32 | runway;
+    }
+}
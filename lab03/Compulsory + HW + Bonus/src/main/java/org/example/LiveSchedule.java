@@ -0,0 +1,223 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// A schedule that takes flights one at a time, as they are announced or cancelled, without solving again.
+// The slots of each runway are a RunwaySchedule, the free gaps between them sit in one GapTree for each set
+// of capabilities among the airport's runways and one for the virtual ones, which offer everything, so adding,
+// cancelling and looking up a flight are all O(log n). A new flight goes, in this order, to a compatible
+// airport runway at its arrival, the least capable first, to one with the least delay up to maxDelay
+// minutes, to a virtual runway the same two ways, or to a new one.
+public class LiveSchedule {
+    private final RunwaySchedule schedule;
+    private final List<String> runways;
+    private final Map<String, Integer> runwayIndex;
+    private final int[] airportCapabilities;
+    private final int maxDelay;
+    // Indexed by capability mask, null where no airport runway has that mask
+    private final GapTree[] airportGaps = new GapTree[RunwayCapability.ALL + 1];
+    private final GapTree virtualGaps = new GapTree();
+
+    public LiveSchedule(Airport airport) {
+        this(airport, 30);
+    }
+
+    public LiveSchedule(Airport airport, int maxDelay) {
+        this(new RunwaySchedule(), airport, airport.getRunways(), maxDelay);
+    }
+
+    private LiveSchedule(RunwaySchedule schedule, Airport airport, List<String> runways, int maxDelay) {
+        this.schedule = schedule;
+        this.runways = new ArrayList<>(runways);
+        this.runwayIndex = new HashMap<>();
+        this.airportCapabilities = new int[airport.getRunways().size()];
+        this.maxDelay = maxDelay;
+        for (int r = 0; r < airportCapabilities.length; r++) {
+            int mask = airport.getCapabilities(this.runways.get(r));
+            airportCapabilities[r] = mask;
+            if (airportGaps[mask] == null) {
+                airportGaps[mask] = new GapTree();
+            }
+        }
+        for (int r = 0; r < this.runways.size(); r++) {
+            String runway = this.runways.get(r);
+            schedule.addRunway(runway);
+            runwayIndex.put(runway, r);
+            addGaps(r);
+        }
+    }
+
+    public static LiveSchedule load(Airport airport, List<Flight> flights, SchedulingProblem.Mode mode) {
+        return load(airport, flights, mode, 30);
+    }
+
+    // Solves the flights as one batch and continues from that schedule; the airport's runways come first
+    // in every solved schedule, the virtual ones after them. maxDelay bounds the flights added afterwards,
+    // the batch is delayed as its mode allows.
+    public static LiveSchedule load(Airport airport, List<Flight> flights, SchedulingProblem.Mode mode, int maxDelay) {
+        SchedulingProblem problem = new SchedulingProblem(airport, flights, mode);
+        problem.solve();
+        RunwaySchedule schedule = problem.getSchedule();
+        return new LiveSchedule(schedule, airport, schedule.getRunways(), maxDelay);
+    }
+
+    public RunwaySchedule.Slot add(Flight flight) {
+        if (schedule.getSlot(flight) != null) {
+            throw new IllegalStateException("Flight " + flight.getFlightNumber() + " is already scheduled");
+        }
+        int arrival = flight.getArrivalTime().toSecondOfDay();
+        int duration = flight.getDepartureTime().toSecondOfDay() - arrival;
+        // A zero-length flight only marks an instant; one crossing midnight would run backwards
+        if (duration < 0) {
+            throw new IllegalArgumentException("Flight " + flight.getFlightNumber() + " departs before it arrives");
+        }
+        // The slot has to end within the day
+        int latest = Math.min(arrival + maxDelay * 60, FlightTable.SECONDS_PER_DAY - 1 - duration);
+
+        int required = flight.getRequiredCapabilities();
+        GapTree gaps = null;
+        int gap = GapTree.NONE;
+        int best = Integer.MAX_VALUE;
+        for (int mask = 0; mask < airportGaps.length; mask++) {
+            if (airportGaps[mask] != null && RunwayCapability.allows(mask, required) && Integer.bitCount(mask) < best) {
+                int found = airportGaps[mask].findCovering(arrival, arrival + duration);
+                if (found != GapTree.NONE) {
+                    gaps = airportGaps[mask];
+                    gap = found;
+                    best = Integer.bitCount(mask);
+                }
+            }
+        }
+        if (gap == GapTree.NONE && latest > arrival) {
+            // Nothing on time, so best is still free to hold the earliest delayed start
+            for (int mask = 0; mask < airportGaps.length; mask++) {
+                if (airportGaps[mask] != null && RunwayCapability.allows(mask, required)) {
+                    int found = airportGaps[mask].findEarliest(arrival + 1, latest, duration);
+                    if (found != GapTree.NONE && airportGaps[mask].start(found) < best) {
+                        gaps = airportGaps[mask];
+                        gap = found;
+                        best = gaps.start(found);
+                    }
+                }
+            }
+        }
+        if (gap == GapTree.NONE) {
+            gaps = virtualGaps;
+            gap = findGap(gaps, arrival, duration, latest);
+        }
+        if (gap == GapTree.NONE) {
+            int r = runways.size();
+            String runway = "VirtualRunway" + (r - airportCapabilities.length + 1);
+            runways.add(runway);
+            runwayIndex.put(runway, r);
+            schedule.addRunway(runway);
+            virtualGaps.insert(0, FlightTable.SECONDS_PER_DAY, r);
+            gap = findGap(gaps, arrival, duration, latest);
+        }
+
+        // The flight splits its gap in two, either of which may be empty
+        int gapStart = gaps.start(gap);
+        int gapEnd = gaps.end(gap);
+        int r = gaps.runway(gap);
+        int begin = Math.max(gapStart, arrival);
+        gaps.remove(gapStart, r);
+        if (gapStart < begin) {
+            gaps.insert(gapStart, begin, r);
+        }
+        if (begin + duration < gapEnd) {
+            gaps.insert(begin + duration, gapEnd, r);
+        }
+        return schedule.assign(flight, runways.get(r), flight.getArrivalTime().plusSeconds(begin - arrival));
+    }
+
+    // Frees the slot of the flight, joining it with the gaps on either side; false if it was not scheduled
+    public boolean cancel(Flight flight) {
+        RunwaySchedule.Slot slot = schedule.getSlot(flight);
+        if (slot == null) {
+            return false;
+        }
+        String runway = schedule.getRunway(flight);
+        int r = runwayIndex.get(runway);
+        GapTree gaps = gapsOf(r);
+        RunwaySchedule.Slot before = schedule.getSlotBefore(flight);
+        RunwaySchedule.Slot after = schedule.getSlotAfter(flight);
+        int start = slot.start().toSecondOfDay();
+        int end = slot.end().toSecondOfDay();
+        int gapStart = before == null ? 0 : before.end().toSecondOfDay();
+        int gapEnd = after == null ? FlightTable.SECONDS_PER_DAY : after.start().toSecondOfDay();
+        if (gapStart < start) {
+            gaps.remove(gapStart, r);
+        }
+        if (end < gapEnd) {
+            gaps.remove(end, r);
+        }
+        // A zero-length slot from a loaded schedule can sit between two slots that touch it
+        if (gapStart < gapEnd) {
+            gaps.insert(gapStart, gapEnd, r);
+        }
+        schedule.unassign(flight);
+        return true;
+    }
+
+    public String getRunway(Flight flight) {
+        return schedule.getRunway(flight);
+    }
+
+    public RunwaySchedule.Slot getSlot(Flight flight) {
+        return schedule.getSlot(flight);
+    }
+
+    public List<String> getRunways() {
+        return new ArrayList<>(runways);
+    }
+
+    public Collection<RunwaySchedule.Slot> getSlots(String runway) {
+        return schedule.getSlots(runway);
+    }
+
+    public Map<Flight, String> getAssignments() {
+        return schedule.getAssignments();
+    }
+
+    public int getFlightCount() {
+        return schedule.getAssignments().size();
+    }
+
+    // Virtual runways stay once opened, empty or not, and are filled again first
+    public int getAdditionalRunwaysNeeded() {
+        return runways.size() - airportCapabilities.length;
+    }
+
+    private GapTree gapsOf(int r) {
+        return r < airportCapabilities.length ? airportGaps[airportCapabilities[r]] : virtualGaps;
+    }
+
+    // A gap the flight fits in at its arrival, or else the one that lets it start earliest, or NONE
+    private static int findGap(GapTree gaps, int arrival, int duration, int latest) {
+        int gap = gaps.findCovering(arrival, arrival + duration);
+        if (gap == GapTree.NONE && latest > arrival) {
+            gap = gaps.findEarliest(arrival + 1, latest, duration);
+        }
+        return gap;
+    }
+
+    // The gaps between the slots already on runway r, used when continuing from a solved schedule
+    private void addGaps(int r) {
+        GapTree gaps = gapsOf(r);
+        int free = 0;
+        for (RunwaySchedule.Slot slot : schedule.getSlots(runways.get(r))) {
+            int start = slot.start().toSecondOfDay();
+            if (free < start) {
+                gaps.insert(free, start, r);
+            }
+            free = slot.end().toSecondOfDay();
+        }
+        if (free < FlightTable.SECONDS_PER_DAY) {
+            gaps.insert(free, FlightTable.SECONDS_PER_DAY, r);
+        }
+    }
+}
@@ -15,10 +15,10 @@ public class Main {
         Aircraft drone = new Drone("DJI", "Mavic3", 201, 40);
 
         // Create flights with different time slots using tail numbers
-        Flight flight1 = new Flight("FL" + airliner1.getTailNumber(), LocalTime.of(10, 0), LocalTime.of(11, 0));
-        Flight flight2 = new Flight("FL" + airliner2.getTailNumber(), LocalTime.of(10, 30), LocalTime.of(11, 30));
-        Flight flight3 = new Flight("FL" + freighter.getTailNumber(), LocalTime.of(11, 0), LocalTime.of(12, 0));
-        Flight flight4 = new Flight("FL" + drone.getTailNumber(), LocalTime.of(11, 30), LocalTime.of(12, 0));
+        Flight flight1 = new Flight("FL" + airliner1.getTailNumber(), LocalTime.of(10, 0), LocalTime.of(11, 0), airliner1);
+        Flight flight2 = new Flight("FL" + airliner2.getTailNumber(), LocalTime.of(10, 30), LocalTime.of(11, 30), airliner2);
+        Flight flight3 = new Flight("FL" + freighter.getTailNumber(), LocalTime.of(11, 0), LocalTime.of(12, 0), freighter);
+        Flight flight4 = new Flight("FL" + drone.getTailNumber(), LocalTime.of(11, 30), LocalTime.of(12, 0), drone);
 
         // Create airport with runways
         ArrayList<String> runways = new ArrayList<>(Arrays.asList("Runway1"));
@@ -0,0 +1,32 @@
+package org.example;
+
+// What a runway offers, as bits of an int mask. A flight can use a runway that offers every bit its aircraft
+// needs. Weight classes add up: a runway rated for HEAVY aircraft should offer MEDIUM as well, and a drone-only
+// pad offers nothing but DRONE_PAD.
+public enum RunwayCapability {
+    // A paved runway for fixed-wing aircraft
+    STRIP,
+    MEDIUM,
+    HEAVY,
+    // Cargo handling
+    CARGO,
+    DRONE_PAD;
+
+    public static final int ALL = (1 << values().length) - 1;
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public static int of(RunwayCapability... capabilities) {
+        int mask = 0;
+        for (RunwayCapability capability : capabilities) {
+            mask |= capability.bit();
+        }
+        return mask;
+    }
+
+    public static boolean allows(int runway, int required) {
+        return (runway & required) == required;
+    }
+}
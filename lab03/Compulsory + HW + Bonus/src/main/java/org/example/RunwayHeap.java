@@ -0,0 +1,68 @@
+package org.example;
+
+import java.util.Arrays;
+
+// Min-heap of runways by the second of the day they become free, ties going to the lower runway index.
+// Each entry is one long, the time in the high half and the runway in the low half.
+final class RunwayHeap {
+    private long[] items;
+    private int size;
+
+    RunwayHeap(int capacity) {
+        this.items = new long[Math.max(4, capacity)];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int peekTime() {
+        return (int) (items[0] >>> 32);
+    }
+
+    int peekRunway() {
+        return (int) items[0];
+    }
+
+    void push(int time, int runway) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+        }
+        long item = (long) time << 32 | runway;
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (items[parent] <= item) {
+                break;
+            }
+            items[i] = items[parent];
+            i = parent;
+        }
+        items[i] = item;
+    }
+
+    // Removes the runway that is free first and returns its index
+    int pop() {
+        int runway = (int) items[0];
+        long last = items[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && items[child + 1] < items[child]) {
+                child++;
+            }
+            if (items[child] >= last) {
+                break;
+            }
+            items[i] = items[child];
+            i = child;
+        }
+        items[i] = last;
+        return runway;
+    }
+}
@@ -0,0 +1,167 @@
+package org.example;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// The occupied slots of every runway, ordered by start time, so a free slot is found with one
+// neighbour lookup. Two slots on one runway never overlap; slots that only touch are allowed, and a
+// zero-length slot may share its start with other slots but not sit strictly inside one.
+// Slots are keyed by start, then end, then the order they were placed in, so equal starts can coexist and
+// the ends never decrease along a runway.
+public class RunwaySchedule {
+    public record Slot(Flight flight, LocalTime start, LocalTime end) {
+        public Duration getDelay() {
+            return Duration.between(flight.getArrivalTime(), start);
+        }
+    }
+
+    private record SlotKey(LocalTime start, LocalTime end, long sequence) implements Comparable<SlotKey> {
+        @Override
+        public int compareTo(SlotKey other) {
+            int byStart = start.compareTo(other.start);
+            if (byStart != 0) {
+                return byStart;
+            }
+            int byEnd = end.compareTo(other.end);
+            return byEnd != 0 ? byEnd : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final Map<String, TreeMap<SlotKey, Slot>> runways = new LinkedHashMap<>();
+    private final Map<Flight, Slot> slots;
+    private final Map<Flight, SlotKey> keys;
+    private final Map<Flight, String> flightToRunway;
+    private long sequence;
+
+    public RunwaySchedule() {
+        this(16);
+    }
+
+    public RunwaySchedule(int expectedFlights) {
+        int capacity = (int) (expectedFlights / 0.75f) + 1;
+        this.slots = new HashMap<>(capacity);
+        this.keys = new HashMap<>(capacity);
+        this.flightToRunway = new HashMap<>(capacity);
+    }
+
+    public void addRunway(String runway) {
+        runways.putIfAbsent(runway, new TreeMap<>());
+    }
+
+    public List<String> getRunways() {
+        return new ArrayList<>(runways.keySet());
+    }
+
+    // Whether start to end overlaps no slot on the runway. Since the ends never decrease, only the last slot
+    // starting before end can reach past start.
+    public boolean isFree(String runway, LocalTime start, LocalTime end) {
+        Map.Entry<SlotKey, Slot> before = runway(runway).lowerEntry(new SlotKey(end, LocalTime.MIN, Long.MIN_VALUE));
+        return before == null || !before.getValue().end().isAfter(start);
+    }
+
+    // The time the last slot of the runway ends, or midnight if it has none
+    public LocalTime getFreeFrom(String runway) {
+        Map.Entry<SlotKey, Slot> last = runway(runway).lastEntry();
+        return last == null ? LocalTime.MIN : last.getValue().end();
+    }
+
+    public Slot assign(Flight flight, String runway) {
+        return assign(flight, runway, flight.getArrivalTime());
+    }
+
+    // Places the flight on the runway from start on, keeping its duration, which delays it if start is after its arrival
+    public Slot assign(Flight flight, String runway, LocalTime start) {
+        if (slots.containsKey(flight)) {
+            throw new IllegalStateException("Flight " + flight.getFlightNumber() + " is already scheduled");
+        }
+        LocalTime end = start.plus(Duration.between(flight.getArrivalTime(), flight.getDepartureTime()));
+        if (start.isBefore(flight.getArrivalTime()) || end.isBefore(start)) {
+            throw new IllegalArgumentException("Flight " + flight.getFlightNumber() + " cannot start at " + start);
+        }
+        if (!isFree(runway, start, end)) {
+            throw new IllegalStateException("Runway " + runway + " is not free from " + start + " to " + end);
+        }
+        Slot slot = new Slot(flight, start, end);
+        slots.put(flight, slot);
+        place(flight, runway);
+        return slot;
+    }
+
+    public Slot unassign(Flight flight) {
+        Slot slot = slots.remove(flight);
+        if (slot != null) {
+            runways.get(flightToRunway.remove(flight)).remove(keys.remove(flight));
+        }
+        return slot;
+    }
+
+    // Moves the flight to the same slot on another runway, only if nothing is there
+    public boolean move(Flight flight, String runway) {
+        Slot slot = slots.get(flight);
+        if (slot == null || runway.equals(flightToRunway.get(flight)) || !isFree(runway, slot.start(), slot.end())) {
+            return false;
+        }
+        runways.get(flightToRunway.get(flight)).remove(keys.get(flight));
+        place(flight, runway);
+        return true;
+    }
+
+    private void place(Flight flight, String runway) {
+        Slot slot = slots.get(flight);
+        SlotKey key = new SlotKey(slot.start(), slot.end(), sequence++);
+        runway(runway).put(key, slot);
+        keys.put(flight, key);
+        flightToRunway.put(flight, runway);
+    }
+
+    public int getFlightCount(String runway) {
+        return runway(runway).size();
+    }
+
+    // The slots of the runway in time order
+    public Collection<Slot> getSlots(String runway) {
+        return Collections.unmodifiableCollection(runway(runway).values());
+    }
+
+    // The slot right before the flight's on its runway, which ends no later than the flight starts, or null
+    public Slot getSlotBefore(Flight flight) {
+        SlotKey key = keys.get(flight);
+        Map.Entry<SlotKey, Slot> entry = key == null ? null : runways.get(flightToRunway.get(flight)).lowerEntry(key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    // The slot right after the flight's on its runway, which starts no earlier than the flight ends, or null
+    public Slot getSlotAfter(Flight flight) {
+        SlotKey key = keys.get(flight);
+        Map.Entry<SlotKey, Slot> entry = key == null ? null : runways.get(flightToRunway.get(flight)).higherEntry(key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    public Slot getSlot(Flight flight) {
+        return slots.get(flight);
+    }
+
+    public String getRunway(Flight flight) {
+        return flightToRunway.get(flight);
+    }
+
+    public Map<Flight, String> getAssignments() {
+        return Collections.unmodifiableMap(flightToRunway);
+    }
+
+    private TreeMap<SlotKey, Slot> runway(String runway) {
+        TreeMap<SlotKey, Slot> occupied = runways.get(runway);
+        if (occupied == null) {
+            throw new IllegalArgumentException("Unknown runway: " + runway);
+        }
+        return occupied;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Additional runways and solve time of the balanced solve(), the no-delay minimum and the delay-bounded
+// branch and bound, on the same random days. Usage: SchedulingBenchmark [runways] [budget seconds] [sizes...]
+public class SchedulingBenchmark {
+    private static final long SEED = 20250317L;
+
+    public static void main(String[] args) {
+        int runwayCount = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        Duration budget = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 2);
+        int[] sizes = args.length > 2
+                ? Arrays.stream(args, 2, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[]{50, 100, 200, 500, 1000, 2000};
+
+        List<String> runways = new ArrayList<>();
+        for (int i = 1; i <= runwayCount; i++) {
+            runways.add("Runway" + i);
+        }
+        Airport airport = new Airport("Benchmark Airport", runways);
+
+        // One warm-up round so the first size is not measured on the interpreter
+        run(airport, randomDay(sizes[0], SEED), budget);
+
+        System.out.printf("%8s %22s %22s %30s%n", "flights", "balanced solve()", "minimum, no delay", "branch and bound (lower bound)");
+        for (int size : sizes) {
+            List<Flight> flights = randomDay(size, SEED + size);
+            long[] results = run(airport, flights, budget);
+            System.out.printf("%8d %10d %8.1f ms %10d %8.1f ms %10d %8.1f ms (%d%s)%n", size,
+                    results[0], results[1] / 1e6, results[2], results[3] / 1e6, results[4], results[5] / 1e6,
+                    results[6], results[7] == 1 ? ", optimal" : "");
+        }
+    }
+
+    // Additional runways and nanoseconds of each solver, then the proven lower bound and whether it was reached
+    private static long[] run(Airport airport, List<Flight> flights, Duration budget) {
+        long[] results = new long[8];
+
+        long start = System.nanoTime();
+        SchedulingProblem balanced = new SchedulingProblem(airport, flights);
+        balanced.solve();
+        results[1] = System.nanoTime() - start;
+        results[0] = balanced.getAdditionalRunwaysNeeded();
+
+        start = System.nanoTime();
+        SchedulingProblem minimum = new SchedulingProblem(airport, flights, SchedulingProblem.Mode.MINIMUM_RUNWAYS);
+        minimum.solve();
+        results[3] = System.nanoTime() - start;
+        results[2] = minimum.getAdditionalRunwaysNeeded();
+
+        start = System.nanoTime();
+        DelayBoundedScheduler exact = new DelayBoundedScheduler(airport, flights, 30, budget);
+        exact.solve();
+        results[5] = System.nanoTime() - start;
+        results[4] = exact.getAdditionalRunwaysNeeded();
+        results[6] = Math.max(0, exact.getLowerBound() - airport.getRunways().size());
+        results[7] = exact.isOptimal() ? 1 : 0;
+        return results;
+    }
+
+    // Flights of 5 to 60 minutes arriving at random minutes between 06:00 and 22:00
+    static List<Flight> randomDay(int size, long seed) {
+        Random random = new Random(seed);
+        List<Flight> flights = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalTime arrival = LocalTime.of(6, 0).plusMinutes(random.nextInt(16 * 60));
+            flights.add(new Flight("FL" + i, arrival, arrival.plusMinutes(5 + random.nextInt(56))));
+        }
+        return flights;
+    }
+}
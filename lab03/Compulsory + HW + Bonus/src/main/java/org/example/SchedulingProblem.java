@@ -1,82 +1,105 @@
 package org.example;
 
+import java.time.Duration;
 import java.time.LocalTime;
 import java.util.*;
 
 public class SchedulingProblem {
+    // BALANCED spreads flights evenly over the runways and may delay them,
+    // MINIMUM_RUNWAYS never delays and opens as few additional runways as possible
+    public enum Mode {
+        BALANCED,
+        MINIMUM_RUNWAYS
+    }
+
     private final Airport airport;
     private final List<Flight> flights;
-    private final Map<Flight, String> flightToRunway;
+    // The MINIMUM_RUNWAYS result; BALANCED mode keeps its result in the schedule right away,
+    // the other builds the schedule on first request
+    private Map<Flight, String> flightToRunway = Map.of();
+    private RunwaySchedule schedule;
+    private List<String> runwayNames;
+    private final Mode mode;
     private boolean solved = false;
     private int additionalRunwaysNeeded = 0;
 
     public SchedulingProblem(Airport airport, List<Flight> flights) {
+        this(airport, flights, Mode.BALANCED);
+    }
+
+    public SchedulingProblem(Airport airport, List<Flight> flights, Mode mode) {
         this.airport = airport;
         this.flights = new ArrayList<>(flights);
-        this.flightToRunway = new HashMap<>();
+        this.mode = mode;
     }
 
     public void solve() {
+        // Schedules cover one day, so every mode turns away a flight that would cross midnight
+        for (Flight flight : flights) {
+            if (flight.getDepartureTime().isBefore(flight.getArrivalTime())) {
+                throw new IllegalArgumentException("Flight " + flight.getFlightNumber()
+                        + " departs before it arrives; flights crossing midnight are not supported");
+            }
+        }
+
         if (flights.isEmpty()) {
             solved = true;
             return;
         }
 
-        // Sort flights by arrival time
-        flights.sort(Comparator.comparing(Flight::getArrivalTime));
-
-        // Map to track when each runway becomes available (runway -> time)
-        Map<String, LocalTime> runwayAvailability = new HashMap<>();
-        for (String runway : airport.getRunways()) {
-            runwayAvailability.put(runway, LocalTime.MIN);
+        if (mode == Mode.MINIMUM_RUNWAYS) {
+            solveMinimumRunways();
+            solved = true;
+            return;
         }
 
-        // Map to count flights per runway
-        Map<String, Integer> runwayUsageCount = new HashMap<>();
-        for (String runway : airport.getRunways()) {
-            runwayUsageCount.put(runway, 0);
+        // The airport hands out a copy, so take it once
+        List<String> runways = airport.getRunways();
+        schedule = new RunwaySchedule(flights.size());
+        for (String runway : runways) {
+            schedule.addRunway(runway);
         }
 
+        // Sort flights by arrival time
+        flights.sort(Comparator.comparing(Flight::getArrivalTime));
+
         // Maximum delay
         final int maxDelay = 30;
 
-        // Try to assign each flight
+        // Flights come in arrival order, so a runway is free for a flight once its last slot has ended
         for (Flight flight : flights) {
 
-            // Find available runway with minimum usage
+            // Find available runway with minimum usage, among those that can take the aircraft
             String selectedRunway = null;
+            LocalTime start = flight.getArrivalTime();
             int minUsage = Integer.MAX_VALUE;
-            LocalTime earliestAvailableTime = LocalTime.MAX;
-
-            for (String runway : airport.getRunways()) {
-                LocalTime availableTime = runwayAvailability.get(runway);
-                int usageCount = runwayUsageCount.get(runway);
+            int required = flight.getRequiredCapabilities();
 
-                // If runway is available at or before flight arrival time
-                if (!availableTime.isAfter(flight.getArrivalTime()) && usageCount < minUsage) {
+            for (String runway : runways) {
+                int usageCount = schedule.getFlightCount(runway);
+                if (RunwayCapability.allows(airport.getCapabilities(runway), required)
+                        && !schedule.getFreeFrom(runway).isAfter(flight.getArrivalTime()) && usageCount < minUsage) {
                     selectedRunway = runway;
                     minUsage = usageCount;
-                    earliestAvailableTime = availableTime;
-                }
-
-                // Track the earliest available time across all runways
-                else if (availableTime.isBefore(earliestAvailableTime)) {
-                    earliestAvailableTime = availableTime;
                 }
             }
 
             // If no runway is available at flight arrival time
             if (selectedRunway == null) {
 
-                // Try to find any runway with minimum usage
-                for (String runway : airport.getRunways()) {
-                    int usageCount = runwayUsageCount.get(runway);
-                    LocalTime availableTime = runwayAvailability.get(runway);
+                // Delay the flight on the least used runway that frees up within the maximum delay
+                LocalTime latestStart = flight.getArrivalTime().plusMinutes(maxDelay);
+                Duration duration = Duration.between(flight.getArrivalTime(), flight.getDepartureTime());
+                for (String runway : runways) {
+                    int usageCount = schedule.getFlightCount(runway);
+                    LocalTime freeFrom = schedule.getFreeFrom(runway);
 
-                    if ((selectedRunway == null || usageCount < minUsage) &&
-                            !availableTime.isAfter(flight.getArrivalTime().plusMinutes(maxDelay))) {
+                    if (usageCount < minUsage && RunwayCapability.allows(airport.getCapabilities(runway), required)
+                            && !freeFrom.isAfter(latestStart)
+                            && !freeFrom.plus(duration).isBefore(freeFrom)) {
                         selectedRunway = runway;
                         minUsage = usageCount;
+                        start = freeFrom;
                     }
                 }
 
@@ -84,49 +107,60 @@ public class SchedulingProblem {
                 if (selectedRunway == null) {
                     additionalRunwaysNeeded++;
                     // Create a virtual runway
-                    String virtualRunway = "VirtualRunway" + additionalRunwaysNeeded;
-                    selectedRunway = virtualRunway;
-                    runwayAvailability.put(virtualRunway, LocalTime.MIN);
-                    runwayUsageCount.put(virtualRunway, 0);
+                    selectedRunway = "VirtualRunway" + additionalRunwaysNeeded;
+                    schedule.addRunway(selectedRunway);
                 }
             }
 
-            // Assign flight to selected runway
-            flightToRunway.put(flight, selectedRunway);
-
-            // Update runway availability and usage count
-            runwayAvailability.put(selectedRunway, flight.getDepartureTime());
-            runwayUsageCount.put(selectedRunway, runwayUsageCount.get(selectedRunway) + 1);
+            // Assign flight to selected runway, delayed if it starts after its arrival
+            schedule.assign(flight, selectedRunway, start);
         }
 
-        // Check distribution
+        // Check distribution, virtual runways included
         int min = Integer.MAX_VALUE;
         int max = Integer.MIN_VALUE;
-        for (int count : runwayUsageCount.values()) {
-            min = Math.min(min, count);
-            max = Math.max(max, count);
+        for (String runway : schedule.getRunways()) {
+            min = Math.min(min, schedule.getFlightCount(runway));
+            max = Math.max(max, schedule.getFlightCount(runway));
         }
 
         if (max - min > 1) {
-            // Try to delay some flights to achieve better distribution
-            rebalanceSchedule(runwayUsageCount);
+            // Move some flights to less used runways where their slot is free
+            rebalanceSchedule(runways.size());
         }
 
         solved = true;
     }
 
-    private void rebalanceSchedule(Map<String, Integer> runwayUsageCount) {
+    // Interval partitioning on a FlightTable: in arrival order, each flight takes the runway that becomes free
+    // first, and a new runway is only opened when even that one is still busy. Then the number of runways in
+    // use is the largest number of flights on the ground at the same time, which no schedule can do without.
+    private void solveMinimumRunways() {
+        List<String> runways = airport.getRunways();
+        int[] capabilities = new int[runways.size()];
+        for (int r = 0; r < capabilities.length; r++) {
+            capabilities[r] = airport.getCapabilities(runways.get(r));
+        }
+        TableScheduler scheduler = new TableScheduler(FlightTable.from(flights), capabilities, 0);
+        scheduler.solve();
+        additionalRunwaysNeeded = scheduler.getAdditionalRunwaysNeeded();
+        flightToRunway = scheduler.toSolution(airport);
+        runwayNames = scheduler.getRunwayNames(airport);
+    }
+
+    private void rebalanceSchedule(int airportRunways) {
         // Find overused and underused runways
         List<String> overusedRunways = new ArrayList<>();
         List<String> underusedRunways = new ArrayList<>();
 
-        int avg = (int) Math.ceil((double) flights.size() / airport.getRunways().size());
+        int avg = (int) Math.ceil((double) flights.size() / airportRunways);
 
-        for (Map.Entry<String, Integer> entry : runwayUsageCount.entrySet()) {
-            if (entry.getValue() > avg) {
-                overusedRunways.add(entry.getKey());
-            } else if (entry.getValue() < avg - 1) {
-                underusedRunways.add(entry.getKey());
+        for (String runway : schedule.getRunways()) {
+            int count = schedule.getFlightCount(runway);
+            if (count > avg) {
+                overusedRunways.add(runway);
+            } else if (count < avg - 1) {
+                underusedRunways.add(runway);
             }
         }
 
@@ -134,25 +168,18 @@ public class SchedulingProblem {
             return;
         }
 
-        // For each overused runway, try to move flights to underused runways
+        // For each overused runway, try to move flights to underused runways, latest first.
+        // The slots are copied since moving a flight changes them.
         for (String overusedRunway : overusedRunways) {
-            List<Flight> flightsOnRunway = new ArrayList<>();
-            for (Map.Entry<Flight, String> entry : flightToRunway.entrySet()) {
-                if (entry.getValue().equals(overusedRunway)) {
-                    flightsOnRunway.add(entry.getKey());
-                }
-            }
+            List<RunwaySchedule.Slot> slotsOnRunway = new ArrayList<>(schedule.getSlots(overusedRunway));
 
-            // Sort flights by departure time (latest first for easier reallocation)
-            flightsOnRunway.sort(Comparator.comparing(Flight::getDepartureTime).reversed());
-
-            for (Flight flight : flightsOnRunway) {
+            for (int i = slotsOnRunway.size() - 1; i >= 0; i--) {
+                Flight flight = slotsOnRunway.get(i).flight();
                 for (String underusedRunway : underusedRunways) {
-                    if (runwayUsageCount.get(overusedRunway) > runwayUsageCount.get(underusedRunway) + 1) {
-                        // Move flight to underused runway
-                        flightToRunway.put(flight, underusedRunway);
-                        runwayUsageCount.put(overusedRunway, runwayUsageCount.get(overusedRunway) - 1);
-                        runwayUsageCount.put(underusedRunway, runwayUsageCount.get(underusedRunway) + 1);
+                    if (schedule.getFlightCount(overusedRunway) > schedule.getFlightCount(underusedRunway) + 1
+                            && RunwayCapability.allows(airport.getCapabilities(underusedRunway), flight.getRequiredCapabilities())
+                            && schedule.move(flight, underusedRunway)) {
+                        break;
                     }
                 }
             }
@@ -163,7 +190,22 @@ public class SchedulingProblem {
         if (!solved) {
             throw new IllegalStateException("Problem not solved yet");
         }
-        return Collections.unmodifiableMap(flightToRunway);
+        return schedule != null ? schedule.getAssignments() : Collections.unmodifiableMap(flightToRunway);
+    }
+
+    public RunwaySchedule getSchedule() {
+        if (!solved) {
+            throw new IllegalStateException("Problem not solved yet");
+        }
+        if (schedule == null) {
+            // Minimum runway schedules have no delays, so every flight goes in at its arrival
+            schedule = new RunwaySchedule(flights.size());
+            for (String runway : runwayNames != null ? runwayNames : airport.getRunways()) {
+                schedule.addRunway(runway);
+            }
+            flightToRunway.forEach(schedule::assign);
+        }
+        return schedule;
     }
 
     public int getAdditionalRunwaysNeeded() {
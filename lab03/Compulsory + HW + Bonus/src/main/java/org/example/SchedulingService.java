@@ -0,0 +1,149 @@
+package org.example;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Solves the SchedulingProblems of many airports at once on a work-stealing pool and hands each result over as
+// soon as it is solved, through a callback or a Flow.Publisher. Only a few problems per worker wait in the pool
+// at a time, so a long stream of problems is read as the workers catch up rather than all at once.
+public class SchedulingService implements AutoCloseable {
+    private static final int QUEUED_PER_WORKER = 4;
+
+    public record Request(Airport airport, List<Flight> flights, SchedulingProblem.Mode mode) {
+        public Request(Airport airport, List<Flight> flights) {
+            this(airport, flights, SchedulingProblem.Mode.BALANCED);
+        }
+    }
+
+    // Utilization is the share of runway time the scheduled slots occupy between the first start and the last
+    // end, over every runway in the schedule, virtual ones included. A problem that threw has its failure set.
+    public record Result(Request request, SchedulingProblem problem, Duration solveTime, int additionalRunways,
+                         double utilization, RuntimeException failure) {
+        public boolean isSolved() {
+            return failure == null;
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+
+    public SchedulingService() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public SchedulingService(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.parallelism = parallelism;
+    }
+
+    // Solves every request, calling onResult from the worker that solved it as each one finishes, and returns
+    // once all are done. An exception from onResult is thrown here after the others have finished, and so is
+    // one from handing a request to the pool, for instance once the service is closed.
+    public void solveAll(Stream<Request> requests, Consumer<Result> onResult) throws InterruptedException {
+        Semaphore queued = new Semaphore(parallelism * QUEUED_PER_WORKER);
+        Phaser pending = new Phaser(1);
+        AtomicReference<RuntimeException> callbackFailure = new AtomicReference<>();
+        try {
+            for (Iterator<Request> it = requests.iterator(); it.hasNext(); ) {
+                Request request = it.next();
+                queued.acquire();
+                pending.register();
+                try {
+                    pool.execute(() -> {
+                        try {
+                            onResult.accept(solve(request));
+                        } catch (RuntimeException e) {
+                            callbackFailure.compareAndSet(null, e);
+                        } finally {
+                            queued.release();
+                            pending.arriveAndDeregister();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    // The task never runs, so give back what it would have on finishing
+                    queued.release();
+                    pending.arriveAndDeregister();
+                    throw e;
+                }
+            }
+        } finally {
+            pending.arriveAndAwaitAdvance();
+        }
+        if (callbackFailure.get() != null) {
+            throw callbackFailure.get();
+        }
+    }
+
+    // A publisher that starts solving when subscribed to and completes after the last result. It takes one
+    // subscriber, since the stream can only be read once. A subscriber that falls behind holds up the workers
+    // handing it results, which keeps the results in memory bounded.
+    public Flow.Publisher<Result> publish(Stream<Request> requests) {
+        AtomicBoolean subscribed = new AtomicBoolean();
+        return subscriber -> {
+            SubmissionPublisher<Result> publisher = new SubmissionPublisher<>();
+            publisher.subscribe(subscriber);
+            if (!subscribed.compareAndSet(false, true)) {
+                publisher.closeExceptionally(new IllegalStateException("Results can only be subscribed to once"));
+                return;
+            }
+            Thread.ofPlatform().name("scheduling-feeder").daemon().start(() -> {
+                try {
+                    solveAll(requests, publisher::submit);
+                    publisher.close();
+                } catch (InterruptedException | RuntimeException e) {
+                    publisher.closeExceptionally(e);
+                }
+            });
+        };
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    private static Result solve(Request request) {
+        SchedulingProblem problem = new SchedulingProblem(request.airport(), request.flights(), request.mode());
+        long start = System.nanoTime();
+        try {
+            problem.solve();
+        } catch (RuntimeException e) {
+            return new Result(request, problem, Duration.ofNanos(System.nanoTime() - start), 0, 0, e);
+        }
+        Duration solveTime = Duration.ofNanos(System.nanoTime() - start);
+        int additional = problem.getAdditionalRunwaysNeeded();
+        return new Result(request, problem, solveTime, additional, utilization(problem), null);
+    }
+
+    // Delayed flights occupy their slots, not their nominal times, so the schedule is measured
+    private static double utilization(SchedulingProblem problem) {
+        RunwaySchedule schedule = problem.getSchedule();
+        long busy = 0;
+        int first = Integer.MAX_VALUE;
+        int last = Integer.MIN_VALUE;
+        for (String runway : schedule.getRunways()) {
+            for (RunwaySchedule.Slot slot : schedule.getSlots(runway)) {
+                int start = slot.start().toSecondOfDay();
+                int end = slot.end().toSecondOfDay();
+                busy += end - start;
+                first = Math.min(first, start);
+                last = Math.max(last, end);
+            }
+        }
+        int runways = schedule.getRunways().size();
+        if (runways == 0 || last <= first) {
+            return 0;
+        }
+        return busy / ((double) runways * (last - first));
+    }
+}
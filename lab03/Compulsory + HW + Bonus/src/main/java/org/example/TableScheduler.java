@@ -0,0 +1,194 @@
+package org.example;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Schedules a FlightTable onto runway ids: the airport's runways are 0 to airportRunways - 1, every id after
+// them is a virtual runway that offers every capability. In arrival order each flight takes the compatible
+// runway that frees up first, delayed up to maxDelay minutes, and a new runway is only opened when even that
+// one is too late. With no delay allowed and interchangeable runways this is interval partitioning and uses
+// the fewest runways possible.
+// A runway is free again from the second its last flight departs, the rule RunwaySchedule uses for touching
+// slots, so a zero-length flight and the next one at the same second can share a runway in toSchedule too.
+// Runways with the same capabilities share one free-time heap, so a flight only looks at the tops of the
+// heaps whose runways it can use. The loop only reads and writes arrays and those heaps, so it allocates
+// nothing per flight.
+public final class TableScheduler {
+    private final FlightTable table;
+    private final int[] airportCapabilities;
+    private final int airportRunways;
+    private final int maxDelay;
+    private int[] runway;
+    private int[] start;
+    private int runwayCount;
+
+    // Interchangeable runways that offer everything
+    public TableScheduler(FlightTable table, int airportRunways, int maxDelay) {
+        this(table, allCapabilities(airportRunways), maxDelay);
+    }
+
+    // One RunwayCapability mask per airport runway
+    public TableScheduler(FlightTable table, int[] runwayCapabilities, int maxDelay) {
+        this.table = table;
+        this.airportCapabilities = runwayCapabilities.clone();
+        for (int capabilities : airportCapabilities) {
+            if ((capabilities & ~RunwayCapability.ALL) != 0) {
+                throw new IllegalArgumentException("Unknown runway capabilities: " + capabilities);
+            }
+        }
+        this.airportRunways = runwayCapabilities.length;
+        this.maxDelay = maxDelay;
+    }
+
+    public void solve() {
+        int count = table.size();
+        int[] order = table.byArrival();
+        runway = new int[count];
+        start = new int[count];
+        runwayCount = airportRunways;
+
+        // Heaps are indexed by the capability mask of their runways; virtual runways go to the one for ALL
+        RunwayHeap[] freeAt = new RunwayHeap[RunwayCapability.ALL + 1];
+        freeAt[RunwayCapability.ALL] = new RunwayHeap(1024);
+        for (int r = 0; r < airportRunways; r++) {
+            int mask = airportCapabilities[r];
+            if (freeAt[mask] == null) {
+                freeAt[mask] = new RunwayHeap(16);
+            }
+            freeAt[mask].push(0, r);
+        }
+        // The masks of the heaps a flight with the given requirement may use, filled on first need
+        int[][] compatible = new int[RunwayCapability.ALL + 1][];
+
+        for (int flight : order) {
+            int arrival = table.getArrival(flight);
+            int duration = table.getDeparture(flight) - arrival;
+            int latest = Math.min(arrival + maxDelay * 60, FlightTable.SECONDS_PER_DAY - 1 - duration);
+            int required = table.getRequiredCapabilities(flight);
+            if (compatible[required] == null) {
+                compatible[required] = compatibleMasks(freeAt, required);
+            }
+
+            // A runway free at arrival on the least capable heap, to keep the others for flights that need them,
+            // or else the runway with the least delay
+            int chosen = -1;
+            boolean onTime = false;
+            int best = Integer.MAX_VALUE;
+            for (int mask : compatible[required]) {
+                RunwayHeap heap = freeAt[mask];
+                if (heap.isEmpty()) {
+                    continue;
+                }
+                int time = heap.peekTime();
+                if (time <= arrival) {
+                    int offered = Integer.bitCount(mask);
+                    if (!onTime || offered < best) {
+                        chosen = mask;
+                        onTime = true;
+                        best = offered;
+                    }
+                } else if (!onTime && time <= latest && time < best) {
+                    chosen = mask;
+                    best = time;
+                }
+            }
+
+            int r;
+            int begin = arrival;
+            if (chosen >= 0) {
+                begin = Math.max(arrival, freeAt[chosen].peekTime());
+                r = freeAt[chosen].pop();
+            } else {
+                chosen = RunwayCapability.ALL;
+                r = runwayCount++;
+            }
+            runway[flight] = r;
+            start[flight] = begin;
+            freeAt[chosen].push(begin + duration, r);
+        }
+    }
+
+    private static int[] compatibleMasks(RunwayHeap[] freeAt, int required) {
+        int count = 0;
+        int[] masks = new int[freeAt.length];
+        for (int mask = 0; mask < freeAt.length; mask++) {
+            if (freeAt[mask] != null && RunwayCapability.allows(mask, required)) {
+                masks[count++] = mask;
+            }
+        }
+        return Arrays.copyOf(masks, count);
+    }
+
+    private static int[] allCapabilities(int runways) {
+        int[] capabilities = new int[runways];
+        Arrays.fill(capabilities, RunwayCapability.ALL);
+        return capabilities;
+    }
+
+    public int getRunway(int flight) {
+        checkSolved();
+        return runway[flight];
+    }
+
+    // The second the flight actually starts, its arrival unless it was delayed
+    public int getStart(int flight) {
+        checkSolved();
+        return start[flight];
+    }
+
+    public int getRunwayCount() {
+        checkSolved();
+        return runwayCount;
+    }
+
+    public int getAdditionalRunwaysNeeded() {
+        checkSolved();
+        return runwayCount - airportRunways;
+    }
+
+    public int getRunwayCapabilities(int runway) {
+        return runway < airportRunways ? airportCapabilities[runway] : RunwayCapability.ALL;
+    }
+
+    // The airport's runway names, then VirtualRunway1, VirtualRunway2, ... for the ids after them
+    public List<String> getRunwayNames(Airport airport) {
+        checkSolved();
+        List<String> names = airport.getRunways();
+        for (int r = airportRunways; r < runwayCount; r++) {
+            names.add("VirtualRunway" + (r - airportRunways + 1));
+        }
+        return names;
+    }
+
+    public Map<Flight, String> toSolution(Airport airport) {
+        List<String> names = getRunwayNames(airport);
+        Map<Flight, String> solution = new HashMap<>((int) (table.size() / 0.75f) + 1);
+        for (int flight = 0; flight < table.size(); flight++) {
+            solution.put(table.toFlight(flight), names.get(runway[flight]));
+        }
+        return solution;
+    }
+
+    public RunwaySchedule toSchedule(Airport airport) {
+        List<String> names = getRunwayNames(airport);
+        RunwaySchedule schedule = new RunwaySchedule(table.size());
+        for (String name : names) {
+            schedule.addRunway(name);
+        }
+        for (int flight = 0; flight < table.size(); flight++) {
+            Flight object = table.toFlight(flight);
+            LocalTime begin = object.getArrivalTime().plusSeconds(start[flight] - table.getArrival(flight));
+            schedule.assign(object, names.get(runway[flight]), begin);
+        }
+        return schedule;
+    }
+
+    private void checkSolved() {
+        if (runway == null) {
+            throw new IllegalStateException("Problem not solved yet");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DelayBoundedSchedulerTest {
+
+    @Test
+    void zeroLengthFlightSharesRunwayWithFlightStartingAtSameTime() {
+        List<Flight> flights = List.of(
+                new Flight("Z1", LocalTime.of(10, 0), LocalTime.of(10, 0)),
+                new Flight("F1", LocalTime.of(10, 0), LocalTime.of(11, 0)),
+                new Flight("Z2", LocalTime.of(11, 0), LocalTime.of(11, 0)));
+        DelayBoundedScheduler scheduler = new DelayBoundedScheduler(TestAirports.oneRunway(), flights);
+        scheduler.solve();
+
+        assertEquals(0, scheduler.getAdditionalRunwaysNeeded());
+        assertEquals(3, scheduler.getSchedule().getFlightCount("R1"));
+        assertTrue(scheduler.isOptimal());
+    }
+
+    @Test
+    void overlappingFlightIsDelayedOntoTheSameRunway() {
+        List<Flight> flights = List.of(
+                new Flight("F1", LocalTime.of(10, 0), LocalTime.of(11, 0)),
+                new Flight("F2", LocalTime.of(10, 45), LocalTime.of(11, 15)));
+        DelayBoundedScheduler scheduler = new DelayBoundedScheduler(TestAirports.oneRunway(), flights);
+        scheduler.solve();
+
+        RunwaySchedule schedule = scheduler.getSchedule();
+        assertEquals(0, scheduler.getAdditionalRunwaysNeeded());
+        assertEquals(LocalTime.of(11, 0), schedule.getSlot(flights.get(1)).start());
+    }
+
+    // Greedy puts each short flight behind a long one that is already busy and opens a third runway. Delaying
+    // the long flights until the short ones are done fits everything on two, which the overlap of the long
+    // flights past their latest start proves optimal.
+    @Test
+    void branchingFindsFewerRunwaysThanGreedy() {
+        List<Flight> flights = List.of(
+                new Flight("L1", LocalTime.of(10, 0), LocalTime.of(11, 0)),
+                new Flight("L2", LocalTime.of(10, 0), LocalTime.of(11, 0)),
+                new Flight("S1", LocalTime.of(10, 10), LocalTime.of(10, 15)),
+                new Flight("S2", LocalTime.of(10, 10), LocalTime.of(10, 15)));
+        DelayBoundedScheduler scheduler = new DelayBoundedScheduler(TestAirports.oneRunway(), flights);
+        scheduler.solve();
+
+        assertEquals(1, scheduler.getAdditionalRunwaysNeeded());
+        assertEquals(2, scheduler.getLowerBound());
+        assertTrue(scheduler.isOptimal());
+    }
+}
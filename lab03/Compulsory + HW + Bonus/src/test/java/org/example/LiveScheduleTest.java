@@ -0,0 +1,40 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LiveScheduleTest {
+
+    @Test
+    void zeroLengthFlightIsAddedAndCancelledBesideSlotWithSameStart() {
+        LiveSchedule live = new LiveSchedule(TestAirports.oneRunway());
+        Flight full = new Flight("F1", LocalTime.of(10, 0), LocalTime.of(11, 0));
+        Flight zero = new Flight("Z1", LocalTime.of(10, 0), LocalTime.of(10, 0));
+        Flight before = new Flight("F0", LocalTime.of(9, 0), LocalTime.of(10, 0));
+        live.add(full);
+        assertEquals(LocalTime.of(10, 0), live.add(zero).start());
+        assertEquals(LocalTime.of(9, 0), live.add(before).start());
+        assertEquals(0, live.getAdditionalRunwaysNeeded());
+
+        assertTrue(live.cancel(zero));
+        assertEquals(2, live.getFlightCount());
+        assertTrue(live.cancel(before));
+        // The gap before F1 is whole again
+        Flight later = new Flight("F2", LocalTime.of(9, 30), LocalTime.of(10, 0));
+        assertEquals(LocalTime.of(9, 30), live.add(later).start());
+        assertEquals("R1", live.getRunway(later));
+        assertEquals(0, live.getAdditionalRunwaysNeeded());
+    }
+
+    @Test
+    void flightCrossingMidnightIsRejected() {
+        LiveSchedule live = new LiveSchedule(TestAirports.oneRunway());
+        Flight flight = new Flight("M1", LocalTime.of(23, 30), LocalTime.of(0, 30));
+        assertThrows(IllegalArgumentException.class, () -> live.add(flight));
+    }
+}
@@ -0,0 +1,45 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SchedulingProblemTest {
+
+    // A zero-length flight and one starting the same minute share a runway, since their slots only touch
+    private static final List<Flight> SAME_START = List.of(
+            new Flight("Z1", LocalTime.of(10, 0), LocalTime.of(10, 0)),
+            new Flight("F1", LocalTime.of(10, 0), LocalTime.of(11, 0)));
+
+    @Test
+    void balancedSchedulesZeroLengthFlightWithSameStart() {
+        SchedulingProblem problem = new SchedulingProblem(TestAirports.oneRunway(), SAME_START, SchedulingProblem.Mode.BALANCED);
+        problem.solve();
+
+        assertEquals(0, problem.getAdditionalRunwaysNeeded());
+        assertEquals(2, problem.getSchedule().getFlightCount("R1"));
+    }
+
+    @Test
+    void minimumRunwaysScheduleKeepsZeroLengthFlightWithSameStart() {
+        SchedulingProblem problem = new SchedulingProblem(TestAirports.oneRunway(), SAME_START, SchedulingProblem.Mode.MINIMUM_RUNWAYS);
+        problem.solve();
+
+        RunwaySchedule schedule = problem.getSchedule();
+        assertEquals(0, problem.getAdditionalRunwaysNeeded());
+        assertEquals(List.of("Z1", "F1"), schedule.getSlots("R1").stream().map(slot -> slot.flight().getFlightNumber()).toList());
+    }
+
+    @Test
+    void flightsCrossingMidnightAreRejectedInEveryMode() {
+        List<Flight> flights = List.of(new Flight("M1", LocalTime.of(23, 30), LocalTime.of(0, 30)));
+        for (SchedulingProblem.Mode mode : SchedulingProblem.Mode.values()) {
+            SchedulingProblem problem = new SchedulingProblem(TestAirports.oneRunway(), flights, mode);
+            assertThrows(IllegalArgumentException.class, problem::solve, mode.name());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class SchedulingServiceTest {
+
+    @Test
+    void solveAllOnClosedServiceFailsInsteadOfHanging() {
+        Airport airport = TestAirports.oneRunway();
+        List<Flight> flights = List.of(new Flight("F1", LocalTime.of(10, 0), LocalTime.of(11, 0)));
+        SchedulingService service = new SchedulingService(2);
+        service.close();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThrows(RejectedExecutionException.class,
+                () -> service.solveAll(Stream.of(new SchedulingService.Request(airport, flights)), result -> {
+                })));
+    }
+
+    // F2 is delayed to 11:00, so the runway is busy from 10:00 to 11:30 without a break
+    @Test
+    void utilizationCountsDelayedSlots() throws InterruptedException {
+        List<Flight> flights = List.of(
+                new Flight("F1", LocalTime.of(10, 0), LocalTime.of(11, 0)),
+                new Flight("F2", LocalTime.of(10, 45), LocalTime.of(11, 15)));
+        List<SchedulingService.Result> results = new ArrayList<>();
+        try (SchedulingService service = new SchedulingService(1)) {
+            service.solveAll(Stream.of(new SchedulingService.Request(TestAirports.oneRunway(), flights)), results::add);
+        }
+
+        assertEquals(1, results.size());
+        assertEquals(0, results.get(0).additionalRunways());
+        assertEquals(1.0, results.get(0).utilization(), 1e-9);
+    }
+}
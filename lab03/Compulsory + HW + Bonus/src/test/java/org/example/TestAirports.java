@@ -0,0 +1,14 @@
+package org.example;
+
+import java.util.List;
+
+// Airports shared by the scheduling tests
+final class TestAirports {
+
+    private TestAirports() {
+    }
+
+    static Airport oneRunway() {
+        return new Airport("Iasi", List.of("R1"));
+    }
+}
@@ -7,6 +7,17 @@ import lombok.*;
 public class Location implements Comparable<Location> {
     String name;
     Type type;
+    // Position on a flat map, NaN when unknown
+    double x;
+    double y;
+
+    public Location(String name, Type type) {
+        this(name, type, Double.NaN, Double.NaN);
+    }
+
+    public boolean hasCoordinates() {
+        return !Double.isNaN(x) && !Double.isNaN(y);
+    }
 
     @Override
     public int compareTo(Location other) {
@@ -0,0 +1,215 @@
+package org.main;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// The direct connections between locations in compressed sparse row form. Every location gets its position in
+// the list as a dense index once, and the neighbours of location i are targets[offsets[i]] up to, not including,
+// targets[offsets[i + 1]], with their travel weights in the same places of weights. Connections go both ways.
+// When every location has coordinates they are copied into x and y, together with the smallest ratio of a
+// connection's weight to the straight-line distance it covers. That ratio times the straight-line distance to a
+// target never overestimates the weight of a route there, which is what A* needs from its estimate.
+public class LocationGraph {
+    private final List<Location> locations;
+    private final Map<Location, Integer> indices;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final double[] x;
+    private final double[] y;
+    private final double weightPerDistance;
+
+    private LocationGraph(List<Location> locations, Map<Location, Integer> indices,
+                          int[] offsets, int[] targets, double[] weights) {
+        this.locations = locations;
+        this.indices = indices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        if (locations.stream().allMatch(Location::hasCoordinates)) {
+            x = locations.stream().mapToDouble(Location::getX).toArray();
+            y = locations.stream().mapToDouble(Location::getY).toArray();
+            weightPerDistance = minWeightPerDistance();
+        } else {
+            x = null;
+            y = null;
+            weightPerDistance = 0;
+        }
+    }
+
+    private double minWeightPerDistance() {
+        double min = Double.POSITIVE_INFINITY;
+        for (int vertex = 0; vertex < size(); vertex++) {
+            for (int e = offsets[vertex]; e < offsets[vertex + 1]; e++) {
+                double distance = straightLine(vertex, targets[e]);
+                if (distance > 0) {
+                    min = Math.min(min, weights[e] / distance);
+                }
+            }
+        }
+        return min == Double.POSITIVE_INFINITY ? 0 : Math.max(0, min);
+    }
+
+    private double straightLine(int from, int to) {
+        double dx = x[from] - x[to];
+        double dy = y[from] - y[to];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    public static Builder builder(List<Location> locations) {
+        return new Builder(locations, 16);
+    }
+
+    // A builder with room for the expected number of connections, so it never has to grow
+    public static Builder builder(List<Location> locations, int expectedEdges) {
+        return new Builder(locations, expectedEdges);
+    }
+
+    public int size() {
+        return locations.size();
+    }
+
+    public Location getLocation(int index) {
+        return locations.get(index);
+    }
+
+    // The index of the location, the same as its first position in the list, or -1 if it is not in the graph
+    public int indexOf(Location location) {
+        return indices.getOrDefault(location, -1);
+    }
+
+    public int getEdgeCount() {
+        return targets.length / 2;
+    }
+
+    public int getDegree(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    public boolean hasCoordinates() {
+        return x != null;
+    }
+
+    // A lower bound on the weight of any route between the two locations, 0 without coordinates
+    double estimate(int from, int to) {
+        return x == null ? 0 : weightPerDistance * straightLine(from, to);
+    }
+
+    // The connections of a vertex are the edge positions from firstEdge up to, not including, endEdge
+    int firstEdge(int vertex) {
+        return offsets[vertex];
+    }
+
+    int endEdge(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    int target(int edge) {
+        return targets[edge];
+    }
+
+    double weight(int edge) {
+        return weights[edge];
+    }
+
+    // Dijkstra from the source over the travel weights
+    public ShortestPaths shortestPaths(int source) {
+        int n = size();
+        double[] distance = new double[n];
+        int[] parent = new int[n];
+        dijkstra(source, new VertexHeap(n), distance, parent, new int[n]);
+        return new ShortestPaths(source, distance, parent);
+    }
+
+    // Fills in the distances and the parent of every location on its shortest path, -1 for the source and the
+    // unreachable ones, and lists the reached locations in the order they were settled, so every location comes
+    // after its parent. Returns how many were reached. Nothing is allocated, so callers can reuse the arrays.
+    int dijkstra(int source, VertexHeap heap, double[] distance, int[] parent, int[] settled) {
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        distance[source] = 0;
+        heap.clear();
+        heap.push(source, 0);
+        int reached = 0;
+        while (!heap.isEmpty()) {
+            int vertex = heap.pop();
+            settled[reached++] = vertex;
+            double length = distance[vertex];
+            for (int e = offsets[vertex]; e < offsets[vertex + 1]; e++) {
+                int target = targets[e];
+                double candidate = length + weights[e];
+                if (candidate < distance[target]) {
+                    distance[target] = candidate;
+                    parent[target] = vertex;
+                    heap.push(target, candidate);
+                }
+            }
+        }
+        return reached;
+    }
+
+    // Collects the connections as a flat edge list and lays them out by source with one counting pass
+    public static class Builder {
+        private final List<Location> locations;
+        private int[] from;
+        private int[] to;
+        private double[] weight;
+        private int count;
+
+        private Builder(List<Location> locations, int expectedEdges) {
+            this.locations = List.copyOf(locations);
+            int capacity = Math.max(16, expectedEdges);
+            this.from = new int[capacity];
+            this.to = new int[capacity];
+            this.weight = new double[capacity];
+        }
+
+        public Builder addEdge(int i, int j, double edgeWeight) {
+            if (i < 0 || j < 0 || i >= locations.size() || j >= locations.size()) {
+                throw new IndexOutOfBoundsException("No location at " + (i < 0 || i >= locations.size() ? i : j));
+            }
+            if (count == from.length) {
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, count * 2L);
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+            }
+            from[count] = i;
+            to[count] = j;
+            weight[count] = edgeWeight;
+            count++;
+            return this;
+        }
+
+        public LocationGraph build() {
+            int n = locations.size();
+            Map<Location, Integer> indices = new IdentityHashMap<>(n);
+            for (int i = n - 1; i >= 0; i--) {
+                indices.put(locations.get(i), i);
+            }
+
+            int[] offsets = new int[n + 1];
+            for (int e = 0; e < count; e++) {
+                offsets[from[e] + 1]++;
+                offsets[to[e] + 1]++;
+            }
+            for (int i = 0; i < n; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            int[] next = Arrays.copyOf(offsets, n);
+            int[] targets = new int[2 * count];
+            double[] weights = new double[2 * count];
+            for (int e = 0; e < count; e++) {
+                int a = next[from[e]]++;
+                targets[a] = to[e];
+                weights[a] = weight[e];
+                int b = next[to[e]]++;
+                targets[b] = from[e];
+                weights[b] = weight[e];
+            }
+            return new LocationGraph(locations, indices, offsets, targets, weights);
+        }
+    }
+}
@@ -1,11 +1,6 @@
 package org.main;
 
 import com.github.javafaker.Faker;
-import org.graph4j.Graph;
-import org.graph4j.GraphBuilder;
-import org.graph4j.*;
-import org.graph4j.shortestpath.DijkstraShortestPathDefault;
-import org.graph4j.util.Path;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -84,40 +79,34 @@ public class Main {
 
     public static String solveFastestRoute(ArrayList<Location> locations)
     {
-        Random random = new Random();
+        SplittableRandom random = new SplittableRandom();
         StringBuilder response = new StringBuilder();
-        // Create a graph
-        Graph graph = GraphBuilder.empty().buildGraph();
-
-        // Add vertices
-        for (Location location : locations) {
-            graph.addVertex(locations.indexOf(location));
-        }
+        // Every location's position in the list is its vertex; about half of all pairs get an edge
+        LocationGraph.Builder builder = LocationGraph.builder(locations, expectedEdges(locations.size()));
 
-        // Add edges with random weights and probabilities
+        // Add edges with random weights
         for (int i = 0; i < locations.size(); i++) {
             for (int j = i + 1; j < locations.size(); j++) {
                 boolean canMoveDirectly = random.nextBoolean();
                 double timeToTravel = 1 + (10 - 1) * random.nextDouble(); // Random time between 1 and 10
-                double probabilityToReachSafely = random.nextDouble(); // Random probability between 0 and 1
                 if (canMoveDirectly) {
-                    graph.addEdge(locations.indexOf(locations.get(i)), locations.indexOf(locations.get(j)), timeToTravel);
+                    builder.addEdge(i, j, timeToTravel);
                 }
             }
         }
+        LocationGraph graph = builder.build();
 
         // Choose a start location
-        Location startLocation = locations.get(0);
+        int start = 0;
+        Location startLocation = locations.get(start);
 
         // Use Dijkstra's algorithm to find the shortest paths
-        var dijkstra = new DijkstraShortestPathDefault(graph, locations.indexOf(startLocation));
+        ShortestPaths dijkstra = graph.shortestPaths(start);
         // Print the shortest paths to all other locations
-        for (Location location : locations) {
-            if (!location.equals(startLocation)) {
-                response.append("\n"+"Shortest path from ").append(startLocation.getName()).append(" to ").append(location.getName()).append(": ").append(dijkstra.findPath(locations.indexOf(location))).append("\n");
-                //System.out.println("Shortest path from " + startLocation.getName() + " to " + location.getName() + ": " + dijkstra.findPath(locations.indexOf(location)));
-                response.append("Total travel time: ").append(dijkstra.getPathWeight(locations.indexOf(location)));
-                //System.out.println("Total travel time: " + dijkstra.getPathWeight(locations.indexOf(location)));
+        for (int i = 0; i < locations.size(); i++) {
+            if (i != start) {
+                response.append("\n"+"Shortest path from ").append(startLocation.getName()).append(" to ").append(locations.get(i).getName()).append(": ").append(dijkstra.pathToString(i)).append("\n");
+                response.append("Total travel time: ").append(dijkstra.getDistance(i));
             }
         }
         return response.toString();
@@ -125,54 +114,38 @@ public class Main {
 
     public static String solveSafestRoutes(ArrayList<Location> locations) {
         StringBuilder response = new StringBuilder();
-        Random random = new Random();
-        Graph graph = GraphBuilder.empty().buildGraph();
-
-        for (Location location : locations) {
-            graph.addVertex(locations.indexOf(location));
-        }
+        SplittableRandom random = new SplittableRandom();
+        LocationGraph.Builder builder = LocationGraph.builder(locations, expectedEdges(locations.size()));
 
         for (int i = 0; i < locations.size(); i++) {
             for (int j = i + 1; j < locations.size(); j++) {
                 boolean canMoveDirectly = random.nextBoolean();
-                double timeToTravel = 1 + (10 - 1) * random.nextDouble();
                 double probabilityToReachSafely = (locations.get(i).getType() == Type.ENEMY || locations.get(j).getType() == Type.ENEMY) ? 0.2 : 0.4;
                 if (canMoveDirectly) {
-                    graph.addEdge(locations.indexOf(locations.get(i)), locations.indexOf(locations.get(j)), probabilityToReachSafely);
+                    // Chances multiply along a route, so the safest one is the lightest under -log(p)
+                    builder.addEdge(i, j, SafestRoutes.weightOf(probabilityToReachSafely));
                 }
             }
         }
-
-        Map<String, RouteInfo> routeInfoMap = new HashMap<>();
-
-        for (Location startLocation : locations) {
-            var dijkstra = new DijkstraShortestPathDefault(graph, locations.indexOf(startLocation));
-            for (Location endLocation : locations) {
-                if (!startLocation.equals(endLocation)) {
-                    var path = dijkstra.findPath(locations.indexOf(endLocation));
-                    path.iterator();
-                    if (path != null) {
-                        RouteInfo routeInfo = new RouteInfo();
-                        StringBuilder routeString = new StringBuilder();
-                        for (var vertex : path) {
-                            Location location = locations.get(vertex);
-                            routeInfo.incrementTypeCount(location.getType());
-                        }
-                        routeInfoMap.put(startLocation.getName() + " -> " + endLocation.getName(), routeInfo);
-                    }
+        SafestRoutes routes = SafestRoutes.compute(builder.build());
+
+        for (int start = 0; start < locations.size(); start++) {
+            for (int end = 0; end < locations.size(); end++) {
+                RouteInfo info = start != end ? routes.getRouteInfo(start, end) : null;
+                if (info != null) {
+                    response.append("\n" + "Route: ").append(locations.get(start).getName()).append(" -> ").append(locations.get(end).getName()).append("\n");
+                    response.append("Friendly: ").append(info.getFriendlyCount()).append(", Neutral: ").append(info.getNeutralCount()).append(", Enemy: ").append(info.getEnemyCount());
+                    response.append(", Probability: ").append(routes.getProbability(start, end));
                 }
             }
         }
-
-        routeInfoMap.forEach((route, info) -> {
-            response.append("\n" + "Route: ").append(route).append("\n");
-            //System.out.println("Route: " + route);
-            response.append("Friendly: ").append(info.getFriendlyCount()).append(", Neutral: ").append(info.getNeutralCount()).append(", Enemy: ").append(info.getEnemyCount());
-            //System.out.println("Friendly: " + info.getFriendlyCount() + ", Neutral: " + info.getNeutralCount() + ", Enemy: " + info.getEnemyCount());
-        });
         return response.toString();
     }
 
+    private static int expectedEdges(int numLocations) {
+        return (int) Math.min(Integer.MAX_VALUE - 8, (long) numLocations * (numLocations - 1) / 4 + numLocations);
+    }
+
     public static List<TestResult> generateAndRunTests(int maxLocations, int numTests) {
         List<TestResult> testResults = new ArrayList<>();
         for (int i = 0; i < numTests; i++) {
@@ -0,0 +1,59 @@
+package org.main;
+
+import java.util.Arrays;
+
+// The answer to one point-to-point query: the route, its travel time and the location types along it, and how
+// many locations the search settled to find it
+public class Route {
+    private final int source;
+    private final int target;
+    private final double distance;
+    private final int[] path;
+    private final RouteInfo routeInfo;
+    private final int settledCount;
+
+    Route(int source, int target, double distance, int[] path, RouteInfo routeInfo, int settledCount) {
+        this.source = source;
+        this.target = target;
+        this.distance = distance;
+        this.path = path;
+        this.routeInfo = routeInfo;
+        this.settledCount = settledCount;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public int getTarget() {
+        return target;
+    }
+
+    public boolean isReachable() {
+        return path != null;
+    }
+
+    // The total travel time, infinity if the target cannot be reached
+    public double getDistance() {
+        return distance;
+    }
+
+    // The location indices from the source to the target, or null if the target cannot be reached
+    public int[] getPath() {
+        return path == null ? null : path.clone();
+    }
+
+    // The location types along the route, both ends included, or null if the target cannot be reached
+    public RouteInfo getRouteInfo() {
+        return routeInfo;
+    }
+
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    @Override
+    public String toString() {
+        return path == null ? "null" : Arrays.toString(path);
+    }
+}
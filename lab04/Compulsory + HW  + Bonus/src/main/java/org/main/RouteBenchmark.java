@@ -0,0 +1,103 @@
+package org.main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// Answers random point-to-point queries on a road-like map three ways: the full Dijkstra tree of the source, the
+// search from both ends and A*, and prints how many locations each settles and its latency.
+// The locations sit on a jittered square grid and every one is connected to its grid neighbours, diagonals
+// included, with a travel time of up to one and a half times the straight-line distance.
+// Usage: RouteBenchmark [queries] [sizes...]
+public class RouteBenchmark {
+    private static final long SEED = 20250401L;
+
+    public static void main(String[] args) {
+        int queries = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int[] sizes = args.length > 1
+                ? Arrays.stream(args).skip(1).mapToInt(Integer::parseInt).toArray()
+                : new int[]{10_000, 100_000, 1_000_000};
+
+        System.out.printf("%10s %14s %14s %12s %12s%n", "locations", "search", "settled", "median us", "p99 us");
+        for (int size : sizes) {
+            SplittableRandom random = new SplittableRandom(SEED + size);
+            LocationGraph graph = roadMap(size, random);
+            int[][] pairs = IntStream.range(0, queries)
+                    .mapToObj(i -> new int[]{random.nextInt(graph.size()), random.nextInt(graph.size())})
+                    .toArray(int[][]::new);
+
+            int n = graph.size();
+            VertexHeap heap = new VertexHeap(n);
+            double[] distance = new double[n];
+            int[] parent = new int[n];
+            int[] settled = new int[n];
+            report(size, "full Dijkstra", pairs, pair -> graph.dijkstra(pair[0], heap, distance, parent, settled));
+
+            RouteQuery query = new RouteQuery(graph);
+            double[] expected = new double[queries];
+            report(size, "bidirectional", pairs, pair -> query.findBidirectional(pair[0], pair[1]).getSettledCount());
+            for (int i = 0; i < queries; i++) {
+                expected[i] = query.findBidirectional(pairs[i][0], pairs[i][1]).getDistance();
+            }
+            report(size, "A*", pairs, pair -> query.findAStar(pair[0], pair[1]).getSettledCount());
+            for (int i = 0; i < queries; i++) {
+                double found = query.findAStar(pairs[i][0], pairs[i][1]).getDistance();
+                if (Math.abs(found - expected[i]) > 1e-9 * Math.max(1, expected[i])) {
+                    throw new IllegalStateException("A* and the bidirectional search disagree on query " + i);
+                }
+            }
+        }
+    }
+
+    private interface Search {
+        // Runs one query and returns how many locations it settled
+        int run(int[] pair);
+    }
+
+    private static void report(int size, String name, int[][] pairs, Search search) {
+        // One pass to warm up, one measured
+        for (int[] pair : pairs) {
+            search.run(pair);
+        }
+        long[] nanos = new long[pairs.length];
+        long settled = 0;
+        for (int i = 0; i < pairs.length; i++) {
+            long start = System.nanoTime();
+            settled += search.run(pairs[i]);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%10d %14s %14.0f %12.1f %12.1f%n", size, name, (double) settled / pairs.length,
+                nanos[nanos.length / 2] / 1e3, nanos[(int) (nanos.length * 0.99)] / 1e3);
+    }
+
+    private static LocationGraph roadMap(int size, SplittableRandom random) {
+        int side = (int) Math.ceil(Math.sqrt(size));
+        List<Location> locations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Type type = Type.values()[random.nextInt(Type.values().length)];
+            locations.add(new Location("L" + i, type, i % side + random.nextDouble(0.8), i / side + random.nextDouble(0.8)));
+        }
+        LocationGraph.Builder builder = LocationGraph.builder(locations, 4 * size);
+        for (int i = 0; i < size; i++) {
+            int column = i % side;
+            // Right, down-left, down and down-right, so every neighbouring pair is added once
+            int[] neighbours = {
+                    column + 1 < side ? i + 1 : -1,
+                    column > 0 ? i + side - 1 : -1,
+                    i + side,
+                    column + 1 < side ? i + side + 1 : -1};
+            for (int j : neighbours) {
+                if (j >= 0 && j < size) {
+                    Location a = locations.get(i);
+                    Location b = locations.get(j);
+                    double straight = Math.hypot(a.getX() - b.getX(), a.getY() - b.getY());
+                    builder.addEdge(i, j, straight * (1 + random.nextDouble(0.5)));
+                }
+            }
+        }
+        return builder.build();
+    }
+}
@@ -5,6 +5,15 @@ public class RouteInfo {
     private int neutralCount;
     private int enemyCount;
 
+    public RouteInfo() {
+    }
+
+    public RouteInfo(int friendlyCount, int neutralCount, int enemyCount) {
+        this.friendlyCount = friendlyCount;
+        this.neutralCount = neutralCount;
+        this.enemyCount = enemyCount;
+    }
+
     public void incrementTypeCount(Type type) {
         switch (type) {
             case FRIENDLY -> friendlyCount++;
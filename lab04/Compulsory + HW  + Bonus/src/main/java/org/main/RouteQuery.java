@@ -0,0 +1,166 @@
+package org.main;
+
+import java.util.Arrays;
+
+// Point-to-point routes on a LocationGraph, found without building the whole tree of the source.
+// Without coordinates the search grows from both ends at once, always on the side whose next location is
+// closer, and stops once the next keys of the two sides add up to no less than the best route seen through a
+// location reached from both. With coordinates A* searches from the source only, ordered by the distance so
+// far plus the graph's estimate of what is left, and stops when it settles the target.
+// The arrays are kept between queries. A location's distance only counts if its stamp is the current query's,
+// so starting a query costs nothing and a query only pays for the part of the graph it explores. A RouteQuery
+// is for one thread at a time.
+public class RouteQuery {
+    private final LocationGraph graph;
+    private final VertexHeap forwardHeap;
+    private final VertexHeap backwardHeap;
+    private final double[] forwardDistance;
+    private final double[] backwardDistance;
+    private final int[] forwardParent;
+    private final int[] backwardParent;
+    private final int[] forwardStamp;
+    private final int[] backwardStamp;
+    private int query;
+
+    public RouteQuery(LocationGraph graph) {
+        int n = graph.size();
+        this.graph = graph;
+        forwardHeap = new VertexHeap(n);
+        backwardHeap = new VertexHeap(n);
+        forwardDistance = new double[n];
+        backwardDistance = new double[n];
+        forwardParent = new int[n];
+        backwardParent = new int[n];
+        forwardStamp = new int[n];
+        backwardStamp = new int[n];
+    }
+
+    // A* when the graph has coordinates, the search from both ends otherwise
+    public Route find(int source, int target) {
+        return graph.hasCoordinates() ? findAStar(source, target) : findBidirectional(source, target);
+    }
+
+    public Route findBidirectional(int source, int target) {
+        start(source, target);
+        forwardHeap.push(source, 0);
+        backwardHeap.push(target, 0);
+        reach(forwardDistance, forwardParent, forwardStamp, source, 0, -1);
+        reach(backwardDistance, backwardParent, backwardStamp, target, 0, -1);
+
+        double best = source == target ? 0 : Double.POSITIVE_INFINITY;
+        int meeting = source == target ? source : -1;
+        int settled = 0;
+        while (!forwardHeap.isEmpty() && !backwardHeap.isEmpty()
+                && forwardHeap.peekKey() + backwardHeap.peekKey() < best) {
+            boolean forward = forwardHeap.peekKey() <= backwardHeap.peekKey();
+            VertexHeap heap = forward ? forwardHeap : backwardHeap;
+            double[] distance = forward ? forwardDistance : backwardDistance;
+            int[] parent = forward ? forwardParent : backwardParent;
+            int[] stamp = forward ? forwardStamp : backwardStamp;
+            double[] otherDistance = forward ? backwardDistance : forwardDistance;
+            int[] otherStamp = forward ? backwardStamp : forwardStamp;
+
+            int vertex = heap.pop();
+            settled++;
+            double length = distance[vertex];
+            for (int e = graph.firstEdge(vertex); e < graph.endEdge(vertex); e++) {
+                int next = graph.target(e);
+                double candidate = length + graph.weight(e);
+                if (stamp[next] != query || candidate < distance[next]) {
+                    reach(distance, parent, stamp, next, candidate, vertex);
+                    heap.push(next, candidate);
+                }
+                if (otherStamp[next] == query && distance[next] + otherDistance[next] < best) {
+                    best = distance[next] + otherDistance[next];
+                    meeting = next;
+                }
+            }
+        }
+        if (meeting < 0) {
+            return new Route(source, target, Double.POSITIVE_INFINITY, null, null, settled);
+        }
+
+        int forwardLength = 0;
+        for (int vertex = meeting; vertex != -1; vertex = forwardParent[vertex]) {
+            forwardLength++;
+        }
+        int length = forwardLength;
+        for (int vertex = backwardParent[meeting]; vertex != -1; vertex = backwardParent[vertex]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int vertex = meeting, i = forwardLength - 1; i >= 0; vertex = forwardParent[vertex], i--) {
+            path[i] = vertex;
+        }
+        for (int vertex = backwardParent[meeting], i = forwardLength; i < length; vertex = backwardParent[vertex], i++) {
+            path[i] = vertex;
+        }
+        return route(source, target, best, path, settled);
+    }
+
+    // Needs a graph with coordinates, or it is plain Dijkstra that stops at the target
+    public Route findAStar(int source, int target) {
+        start(source, target);
+        reach(forwardDistance, forwardParent, forwardStamp, source, 0, -1);
+        forwardHeap.push(source, graph.estimate(source, target));
+
+        int settled = 0;
+        while (!forwardHeap.isEmpty()) {
+            int vertex = forwardHeap.pop();
+            settled++;
+            if (vertex == target) {
+                break;
+            }
+            double length = forwardDistance[vertex];
+            for (int e = graph.firstEdge(vertex); e < graph.endEdge(vertex); e++) {
+                int next = graph.target(e);
+                double candidate = length + graph.weight(e);
+                if (forwardStamp[next] != query || candidate < forwardDistance[next]) {
+                    reach(forwardDistance, forwardParent, forwardStamp, next, candidate, vertex);
+                    forwardHeap.push(next, candidate + graph.estimate(next, target));
+                }
+            }
+        }
+        if (forwardStamp[target] != query) {
+            return new Route(source, target, Double.POSITIVE_INFINITY, null, null, settled);
+        }
+
+        int length = 0;
+        for (int vertex = target; vertex != -1; vertex = forwardParent[vertex]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int vertex = target, i = length - 1; i >= 0; vertex = forwardParent[vertex], i--) {
+            path[i] = vertex;
+        }
+        return route(source, target, forwardDistance[target], path, settled);
+    }
+
+    private void start(int source, int target) {
+        if (source < 0 || target < 0 || source >= graph.size() || target >= graph.size()) {
+            throw new IndexOutOfBoundsException("No location at " + (source < 0 || source >= graph.size() ? source : target));
+        }
+        forwardHeap.clear();
+        backwardHeap.clear();
+        if (++query == 0) {
+            // After 2^32 queries the stamps come round again, so old ones could pass for current
+            Arrays.fill(forwardStamp, 0);
+            Arrays.fill(backwardStamp, 0);
+            query = 1;
+        }
+    }
+
+    private void reach(double[] distance, int[] parent, int[] stamp, int vertex, double length, int from) {
+        distance[vertex] = length;
+        parent[vertex] = from;
+        stamp[vertex] = query;
+    }
+
+    private Route route(int source, int target, double distance, int[] path, int settled) {
+        RouteInfo info = new RouteInfo();
+        for (int vertex : path) {
+            info.incrementTypeCount(graph.getLocation(vertex).getType());
+        }
+        return new Route(source, target, distance, path, info, settled);
+    }
+}
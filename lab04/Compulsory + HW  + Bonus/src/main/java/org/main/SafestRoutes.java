@@ -0,0 +1,106 @@
+package org.main;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+// The safest route between every pair of locations. The chance to reach safely along a route is the product of
+// the chances of its connections, so connections weigh -log(p) and the lightest path is the most likely to
+// arrive. Every source gets its own Dijkstra, run in parallel with reused arrays on each thread, and the
+// location types along each route are counted as it goes: a route has the counts of its parent's route plus
+// its last location. Results sit in flat arrays indexed by source * size + target.
+public class SafestRoutes {
+    private final int size;
+    // The -log(p) weight of the safest route, infinity where no route exists. Weights rather than chances,
+    // since a long route's chance underflows to 0 well before its weight runs out of range; float keeps the
+    // n * n matrix at half the size
+    private final float[] weight;
+    private final int[] friendlyCount;
+    private final int[] neutralCount;
+    private final int[] enemyCount;
+
+    // Per thread state, so the per-source Dijkstra runs allocate nothing
+    private static final class Workspace {
+        final VertexHeap heap;
+        final double[] distance;
+        final int[] parent;
+        final int[] settled;
+
+        Workspace(int size) {
+            heap = new VertexHeap(size);
+            distance = new double[size];
+            parent = new int[size];
+            settled = new int[size];
+        }
+    }
+
+    private SafestRoutes(int size) {
+        this.size = size;
+        int cells = Math.multiplyExact(size, size);
+        this.weight = new float[cells];
+        this.friendlyCount = new int[cells];
+        this.neutralCount = new int[cells];
+        this.enemyCount = new int[cells];
+    }
+
+    // The weight of a connection that is made safely with the given probability
+    public static double weightOf(double probabilityToReachSafely) {
+        return -Math.log(probabilityToReachSafely);
+    }
+
+    // Solves every source of a graph whose weights come from weightOf
+    public static SafestRoutes compute(LocationGraph graph) {
+        int size = graph.size();
+        SafestRoutes routes = new SafestRoutes(size);
+        Type[] type = new Type[size];
+        for (int i = 0; i < size; i++) {
+            type[i] = graph.getLocation(i).getType();
+        }
+        ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(() -> new Workspace(size));
+        IntStream.range(0, size).parallel().forEach(source -> routes.solve(graph, source, type, workspaces.get()));
+        return routes;
+    }
+
+    private void solve(LocationGraph graph, int source, Type[] type, Workspace workspace) {
+        int reached = graph.dijkstra(source, workspace.heap, workspace.distance, workspace.parent, workspace.settled);
+        int row = source * size;
+        Arrays.fill(weight, row, row + size, Float.POSITIVE_INFINITY);
+        for (int k = 0; k < reached; k++) {
+            int target = workspace.settled[k];
+            int parent = workspace.parent[target];
+            int cell = row + target;
+            if (parent >= 0) {
+                friendlyCount[cell] = friendlyCount[row + parent];
+                neutralCount[cell] = neutralCount[row + parent];
+                enemyCount[cell] = enemyCount[row + parent];
+            }
+            switch (type[target]) {
+                case FRIENDLY -> friendlyCount[cell]++;
+                case NEUTRAL -> neutralCount[cell]++;
+                case ENEMY -> enemyCount[cell]++;
+            }
+            weight[cell] = (float) workspace.distance[target];
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isReachable(int source, int target) {
+        return weight[source * size + target] != Float.POSITIVE_INFINITY;
+    }
+
+    // The chance to arrive safely along the safest route, 0 if there is none or it is too small for a double
+    public double getProbability(int source, int target) {
+        return Math.exp(-weight[source * size + target]);
+    }
+
+    // The location types along the safest route, both ends included, or null if there is no route
+    public RouteInfo getRouteInfo(int source, int target) {
+        if (!isReachable(source, target)) {
+            return null;
+        }
+        int cell = source * size + target;
+        return new RouteInfo(friendlyCount[cell], neutralCount[cell], enemyCount[cell]);
+    }
+}
@@ -0,0 +1,46 @@
+package org.main;
+
+import java.util.Arrays;
+
+// The result of Dijkstra from one source: the distance to every location and the tree of paths that reach it
+public class ShortestPaths {
+    private final int source;
+    private final double[] distance;
+    private final int[] parent;
+
+    ShortestPaths(int source, double[] distance, int[] parent) {
+        this.source = source;
+        this.distance = distance;
+        this.parent = parent;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    // Infinity if the target cannot be reached
+    public double getDistance(int target) {
+        return distance[target];
+    }
+
+    // The location indices from the source to the target, or null if the target cannot be reached
+    public int[] getPath(int target) {
+        if (distance[target] == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        int length = 1;
+        for (int vertex = target; vertex != source; vertex = parent[vertex]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int vertex = target, i = length - 1; i >= 0; vertex = parent[vertex], i--) {
+            path[i] = vertex;
+        }
+        return path;
+    }
+
+    public String pathToString(int target) {
+        int[] path = getPath(target);
+        return path == null ? "null" : Arrays.toString(path);
+    }
+}
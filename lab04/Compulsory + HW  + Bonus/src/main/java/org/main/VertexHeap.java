@@ -0,0 +1,97 @@
+package org.main;
+
+import java.util.Arrays;
+
+// Indexed binary min-heap of the vertices 0..n-1 by a double key, so a vertex can have its key lowered in place.
+// Every array is allocated once, which keeps Dijkstra free of per-edge garbage.
+class VertexHeap {
+    private final int[] heap;
+    private final int[] position;
+    private final double[] key;
+    private int size;
+
+    VertexHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        key = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Adds the vertex with the given key, or lowers its key if it is already in the heap
+    void push(int vertex, double vertexKey) {
+        int i = position[vertex];
+        if (i < 0) {
+            i = size++;
+            heap[i] = vertex;
+            position[vertex] = i;
+        } else if (vertexKey >= key[vertex]) {
+            return;
+        }
+        key[vertex] = vertexKey;
+        siftUp(i);
+    }
+
+    // The smallest key, only while the heap is not empty
+    double peekKey() {
+        return key[heap[0]];
+    }
+
+    // Removes the vertex with the smallest key and returns it
+    int pop() {
+        int top = heap[0];
+        position[top] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int vertex = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (key[heap[parent]] <= key[vertex]) {
+                break;
+            }
+            move(heap[parent], i);
+            i = parent;
+        }
+        move(vertex, i);
+    }
+
+    private void siftDown(int i) {
+        int vertex = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && key[heap[child + 1]] < key[heap[child]]) {
+                child++;
+            }
+            if (key[heap[child]] >= key[vertex]) {
+                break;
+            }
+            move(heap[child], i);
+            i = child;
+        }
+        move(vertex, i);
+    }
+
+    private void move(int vertex, int i) {
+        heap[i] = vertex;
+        position[vertex] = i;
+    }
+}